@@ -2,30 +2,57 @@ package com.vpavlov.machine;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Class represents an alphabet of symbols
+ * Class represents an alphabet of symbols.
+ * Every symbol has a stable integer code (its index in the order of declaration).
  *
  * @author vpavlov
  * @version 20.11.2022
  */
 public class Alphabet {
 
+    /**
+     * Code of the symbol which is not in the alphabet
+     */
+    public static final int UNKNOWN = -1;
+
     /**
      * Symbols in the alphabet
      */
     private final Set<String> symbols;
 
+    /**
+     * Symbols by code
+     */
+    private final String[] codeSymbols;
+
+    /**
+     * Direct lookup table of single-char symbol codes [char] -> code
+     */
+    private final int[] charCodes;
+
+    /**
+     * Codes of multi-char symbols
+     */
+    private final Map<String, Integer> multiCharCodes;
+
     /**
      * Constructor
      *
      * @param symbols array of symbols in alphabet
      */
     public Alphabet(String... symbols) {
-        this.symbols = new HashSet<>();
-        this.symbols.addAll(Arrays.asList(symbols));
+        this.symbols = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(symbols)));
+        this.codeSymbols = this.symbols.toArray(new String[0]);
+        this.multiCharCodes = new HashMap<>();
+        this.charCodes = createCodes(codeSymbols, multiCharCodes);
     }
 
     /**
@@ -34,8 +61,7 @@ public class Alphabet {
      * @param symbols symbols in CSV format
      */
     public Alphabet(String symbols) {
-        this.symbols = new HashSet<>();
-        this.symbols.addAll(Arrays.asList(symbols.split(",")));
+        this(symbols.split(","));
     }
 
     /**
@@ -44,18 +70,67 @@ public class Alphabet {
      * @param alphabet alphabet to copy
      */
     public Alphabet(Alphabet alphabet) {
-        this.symbols = new HashSet<>(alphabet.symbols);
+        this.symbols = alphabet.symbols;
+        this.codeSymbols = alphabet.codeSymbols.clone();
+        this.charCodes = alphabet.charCodes.clone();
+        this.multiCharCodes = new HashMap<>(alphabet.multiCharCodes);
+    }
+
+    /**
+     * Creates codes of specified symbols
+     *
+     * @param codeSymbols    symbols by code
+     * @param multiCharCodes map to put multi-char symbol codes into
+     * @return direct lookup table of single-char symbol codes
+     */
+    private static int[] createCodes(String[] codeSymbols, Map<String, Integer> multiCharCodes) {
+        int maxChar = -1;
+        for (String symbol : codeSymbols) {
+            if (symbol.length() == 1) {
+                maxChar = Math.max(maxChar, symbol.charAt(0));
+            }
+        }
+        int[] charCodes = new int[maxChar + 1];
+        Arrays.fill(charCodes, UNKNOWN);
+        for (int code = 0; code < codeSymbols.length; ++code) {
+            String symbol = codeSymbols[code];
+            if (symbol.length() == 1) {
+                charCodes[symbol.charAt(0)] = code;
+            } else {
+                multiCharCodes.put(symbol, code);
+            }
+        }
+
+        return charCodes;
     }
 
     /**
      * Symbols getter
      *
-     * @return alphabet symbols
+     * @return alphabet symbols in the order of their codes
      */
     public Set<String> getSymbols() {
         return this.symbols;
     }
 
+    /**
+     * Count of the alphabet symbols
+     *
+     * @return count of the alphabet symbols
+     */
+    public int size() {
+        return codeSymbols.length;
+    }
+
+    /**
+     * Check if all symbols of the alphabet are single-char symbols
+     *
+     * @return true if all symbols are single-char symbols, else false
+     */
+    public boolean isSingleCharSymbols() {
+        return multiCharCodes.isEmpty();
+    }
+
     /**
      * Check if the alphabet contains a specified symbol
      *
@@ -75,4 +150,136 @@ public class Alphabet {
     public boolean containsAll(Collection<String> symbols) {
         return this.symbols.containsAll(symbols);
     }
+
+    /**
+     * Gets the code of the specified single-char symbol
+     *
+     * @param symbol the symbol
+     * @return the symbol code or {@link #UNKNOWN} if the symbol is not in the alphabet
+     */
+    public int encode(char symbol) {
+        return symbol < charCodes.length ? charCodes[symbol] : UNKNOWN;
+    }
+
+    /**
+     * Gets the code of the specified symbol
+     *
+     * @param symbol the symbol
+     * @return the symbol code or {@link #UNKNOWN} if the symbol is not in the alphabet
+     */
+    public int encode(String symbol) {
+        if (symbol.length() == 1) {
+            return encode(symbol.charAt(0));
+        }
+        Integer code = multiCharCodes.get(symbol);
+        return code == null ? UNKNOWN : code;
+    }
+
+    /**
+     * Encodes the specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input to encode
+     * @return codes of the input symbols
+     * @throws IllegalArgumentException if the input contains a symbol which is not in the alphabet
+     */
+    public int[] encodeInput(CharSequence input) throws IllegalArgumentException {
+        int[] codes = new int[input.length()];
+        for (int i = 0; i < codes.length; ++i) {
+            codes[i] = encodeChecked(input.charAt(i), i);
+        }
+
+        return codes;
+    }
+
+    /**
+     * Encodes the specified input symbols
+     *
+     * @param input the symbols to encode
+     * @return codes of the input symbols
+     * @throws IllegalArgumentException if the input contains a symbol which is not in the alphabet
+     */
+    public int[] encode(List<String> input) throws IllegalArgumentException {
+        int[] codes = new int[input.size()];
+        for (int i = 0; i < codes.length; ++i) {
+            int code = encode(input.get(i));
+            if (code == UNKNOWN) {
+                throw new IllegalArgumentException(String.format("Unknown symbol '%s' at position %d.", input.get(i), i));
+            }
+            codes[i] = code;
+        }
+
+        return codes;
+    }
+
+    /**
+     * Encodes the specified input to byte codes. Every char of the input is a single symbol.
+     *
+     * @param input the input to encode
+     * @return byte codes of the input symbols
+     * @throws IllegalArgumentException if the input contains a symbol which is not in the alphabet
+     * @throws IllegalStateException    if the alphabet codes do not fit into bytes
+     */
+    public byte[] encodeToBytes(CharSequence input) throws IllegalArgumentException, IllegalStateException {
+        if (codeSymbols.length > Byte.MAX_VALUE + 1) {
+            throw new IllegalStateException("The alphabet is too large for byte codes.");
+        }
+        byte[] codes = new byte[input.length()];
+        for (int i = 0; i < codes.length; ++i) {
+            codes[i] = (byte) encodeChecked(input.charAt(i), i);
+        }
+
+        return codes;
+    }
+
+    /**
+     * Gets the code of the specified input char
+     *
+     * @param symbol   the input char
+     * @param position the position of the char in the input
+     * @return the symbol code
+     * @throws IllegalArgumentException if the symbol is not in the alphabet
+     */
+    private int encodeChecked(char symbol, int position) throws IllegalArgumentException {
+        int code = encode(symbol);
+        if (code == UNKNOWN) {
+            throw new IllegalArgumentException(String.format("Unknown symbol '%c' at position %d.", symbol, position));
+        }
+
+        return code;
+    }
+
+    /**
+     * Gets the symbol with the specified code
+     *
+     * @param code the symbol code
+     * @return the symbol
+     */
+    public String decode(int code) {
+        return codeSymbols[code];
+    }
+
+    /**
+     * Decodes the specified symbol codes
+     *
+     * @param codes the symbol codes
+     * @return decoded symbols
+     */
+    public List<String> decode(int[] codes) {
+        String[] decoded = new String[codes.length];
+        for (int i = 0; i < codes.length; ++i) {
+            decoded[i] = codeSymbols[codes[i]];
+        }
+
+        return Arrays.asList(decoded);
+    }
+
+    /**
+     * Check if the specified alphabet has the same symbols with the same codes
+     *
+     * @param alphabet the alphabet to check
+     * @return true if both alphabets encode symbols the same way, else false
+     */
+    public boolean isCompatible(Alphabet alphabet) {
+        return Arrays.equals(codeSymbols, alphabet.codeSymbols);
+    }
 }
@@ -24,6 +24,11 @@ public class Machine {
      */
     private final Set<State> finalStates;
 
+    /**
+     * States which do not have transitions with all alphabet symbols
+     */
+    private final Set<State> incompleteStates;
+
     /**
      * Current state of the machine
      */
@@ -40,15 +45,20 @@ public class Machine {
     private final Alphabet alphabet;
 
     /**
-     * Count of the machine states
+     * Index of the next generated state title
      */
-    private int statesCount = 0;
+    private int nextTitleIndex = 0;
 
     /**
      * Machine state title generator
      */
     private final TitleGenerator titleGenerator;
 
+    /**
+     * Count of the machine modifications (states, transitions, start and final states)
+     */
+    private long modificationsCount = 0;
+
     /**
      * Constructor
      *
@@ -58,6 +68,7 @@ public class Machine {
     public Machine(Alphabet alphabet, TitleGenerator titleGenerator) {
         this.states = new HashMap<>();
         this.finalStates = new HashSet<>();
+        this.incompleteStates = new LinkedHashSet<>();
         this.titleGenerator = titleGenerator;
         this.alphabet = alphabet;
     }
@@ -71,11 +82,15 @@ public class Machine {
         this.currentState = null;
         this.alphabet = machine.alphabet;
         this.titleGenerator = machine.titleGenerator;
-        this.statesCount = machine.statesCount;
+        this.nextTitleIndex = machine.nextTitleIndex;
         this.states = copyStates(machine.states);
         this.startState = states.get(machine.startState.getTitle());
         this.finalStates = copyFinalStates(machine.finalStates);
         copyTransitions(machine.states);
+        this.incompleteStates = new LinkedHashSet<>();
+        for (State state : states.values()) {
+            updateCompleteness(state);
+        }
         System.out.printf("Source machine:\n%s", machine);
         System.out.printf("Copied machine:\n%s", this);
     }
@@ -141,14 +156,29 @@ public class Machine {
     }
 
     /**
-     * Add new machine state with autogenerated title using title generator
+     * Add new machine state with autogenerated title using title generator.
+     * Titles are never reused, the titles which are already used by other states are skipped.
      *
+     * @return the title of the new state
      * @see com.vpavlov.services.machine.api.TitleGenerator
      */
-    public void addState() {
-        String title = titleGenerator.generateTitle(statesCount);
-        states.put(title, new State(title));
-        ++statesCount;
+    public String addState() {
+        String title;
+        do {
+            title = titleGenerator.generateTitle(nextTitleIndex++);
+        } while (states.containsKey(title));
+        addState(title);
+        return title;
+    }
+
+    /**
+     * Makes the generated titles continue after the title with specified index,
+     * so titles up to it are not generated again, e.g. titles of the states removed before a machine was saved
+     *
+     * @param index index of the title which is not generated any more
+     */
+    public void reserveTitleIndex(int index) {
+        nextTitleIndex = Math.max(nextTitleIndex, index + 1);
     }
 
     /**
@@ -157,8 +187,10 @@ public class Machine {
      * @param title a new state title
      */
     public void addState(String title) {
-        states.put(title, new State(title));
-        ++statesCount;
+        State state = new State(title, alphabet);
+        states.put(title, state);
+        updateCompleteness(state);
+        ++modificationsCount;
     }
 
     /**
@@ -168,6 +200,7 @@ public class Machine {
      */
     public void addFinalState(String title) {
         finalStates.add(states.get(title));
+        ++modificationsCount;
     }
 
     /**
@@ -177,6 +210,7 @@ public class Machine {
      */
     public void removeFinalState(String title) {
         finalStates.remove(states.get(title));
+        ++modificationsCount;
     }
 
     /**
@@ -205,6 +239,8 @@ public class Machine {
             fromState.addTransitionOut(symbol, toState);
             toState.addTransitionIn(symbol, fromState);
         }
+        updateCompleteness(fromState);
+        ++modificationsCount;
         return true;
     }
 
@@ -224,12 +260,33 @@ public class Machine {
             return false;
         }
         for (String symbol : symbols) {
+            State replaced = fromState.getTransitionOut(symbol);
+            if (replaced != null) {
+                replaced.removeTransitionIn(symbol, fromState);
+            }
             fromState.addTransitionOut(symbol, toState);
             toState.addTransitionIn(symbol, fromState);
         }
+        updateCompleteness(fromState);
+        ++modificationsCount;
         return true;
     }
 
+    /**
+     * Add new transition between states of the machine without any checks. Is used by {@link MachineBuilder}
+     * which validates the transitions in advance.
+     *
+     * @param fromState the state from which the transition will be
+     * @param code      the symbol code of the transition, there must be no transition with the symbol from the state
+     * @param toState   the state to which the transition will be
+     */
+    void putTransition(State fromState, int code, State toState) {
+        fromState.addTransitionOut(code, toState);
+        toState.addTransitionIn(alphabet.decode(code), fromState);
+        updateCompleteness(fromState);
+        ++modificationsCount;
+    }
+
     /**
      * Gets exiting transitions with specified symbols from specified state
      *
@@ -256,15 +313,50 @@ public class Machine {
      * @return true if all states are completed, else false
      */
     public boolean isCompleteStates() {
-        for (State state : states.values()) {
-            for (String symbol : alphabet.getSymbols()) {
-                if (state.getTransitionOut(symbol) == null) {
-                    return false;
-                }
+        return incompleteStates.isEmpty();
+    }
+
+    /**
+     * Incomplete states getter
+     *
+     * @return unmodifiable view of the titles of the states which do not have transitions with all alphabet symbols
+     */
+    public Collection<String> getIncompleteStates() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<String> iterator() {
+                Iterator<State> iterator = incompleteStates.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return iterator.next().getTitle();
+                    }
+                };
             }
-        }
 
-        return true;
+            @Override
+            public int size() {
+                return incompleteStates.size();
+            }
+        };
+    }
+
+    /**
+     * Updates the completeness of specified state
+     *
+     * @param state the state with changed transitions from it
+     */
+    private void updateCompleteness(State state) {
+        if (state.getTransitionsOutCount() < alphabet.size()) {
+            incompleteStates.add(state);
+        } else {
+            incompleteStates.remove(state);
+        }
     }
 
     /**
@@ -295,6 +387,7 @@ public class Machine {
         if (this.startState == null) {
             this.startState = states.get(title);
             this.currentState = this.startState;
+            ++modificationsCount;
         } else {
             throw new StartStateSetException(startState.getTitle());
         }
@@ -310,6 +403,7 @@ public class Machine {
         State previous = startState;
         startState = states.get(title);
         currentState = startState;
+        ++modificationsCount;
         if (previous != null) {
             return previous.getTitle();
         } else {
@@ -323,6 +417,7 @@ public class Machine {
     public void removeStartState() {
         this.startState = null;
         this.currentState = null;
+        ++modificationsCount;
     }
 
     /**
@@ -345,8 +440,18 @@ public class Machine {
      * @return the title of the current state after the transition
      */
     public String transition(String symbol) {
-        State current = states.get(currentState.getTitle());
-        currentState = current.getTransitionOut(symbol);
+        return transition(alphabet.encode(symbol));
+    }
+
+    /**
+     * Makes the machine transition with specified symbol code
+     *
+     * @param code code of the symbol to make transition for
+     * @return the title of the current state after the transition
+     * @see Alphabet#encode(String)
+     */
+    public String transition(int code) {
+        currentState = currentState.getTransitionOut(code);
         return currentState.getTitle();
     }
 
@@ -364,45 +469,42 @@ public class Machine {
             fromState.removeTransitionOut(symbol);
             toState.removeTransitionIn(symbol, fromState);
         }
+        updateCompleteness(fromState);
+        ++modificationsCount;
     }
 
     /**
-     * Removes state with specified symbol
+     * Removes state with specified title. Other states keep their titles,
+     * so the removal takes time proportional to the count of the state transitions.
      *
      * @param title the title of the state to be removed
      * @return true if the state was removed, else false
      */
     public boolean removeState(String title) {
-        --statesCount;
         State state = states.get(title);
         if (state == null) {
             return false;
         }
+        Set<State> predecessors = new HashSet<>();
+        for (Set<State> fromStates : state.getTransitionsIn().values()) {
+            predecessors.addAll(fromStates);
+        }
         state.removeAllTransitions();
         states.remove(title);
-        renameStates(title);
-        return true;
-    }
-
-    /**
-     * Renames states after a stat was removed
-     *
-     * @param removedTitle the title of the state which was removed
-     */
-    private void renameStates(String removedTitle) {
-        Set<State> renamedStates = new HashSet<>();
-        for (State state : states.values()) {
-            if (state.getTitle().compareTo(removedTitle) > 0) {
-                String newTitle = String.valueOf((char) (state.getTitle().charAt(0) - 1));
-                state.rename(newTitle);
-                renamedStates.add(state);
-            }
+        incompleteStates.remove(state);
+        finalStates.remove(state);
+        if (startState == state) {
+            startState = null;
         }
-        for (State state : renamedStates) {
-            states.put(state.getTitle(), state);
-
+        if (currentState == state) {
+            currentState = startState;
+        }
+        predecessors.remove(state);
+        for (State predecessor : predecessors) {
+            updateCompleteness(predecessor);
         }
-        states.remove(titleGenerator.generateTitle(statesCount));
+        ++modificationsCount;
+        return true;
     }
 
     /**
@@ -432,6 +534,64 @@ public class Machine {
         return finalStates.contains(currentState);
     }
 
+    /**
+     * The machine states getter
+     *
+     * @return unmodifiable view of the machine states
+     */
+    public Collection<State> getStates() {
+        return Collections.unmodifiableCollection(states.values());
+    }
+
+    /**
+     * The machine state getter
+     *
+     * @param title the title of the state
+     * @return the state with specified title or null if not found
+     */
+    public State getState(String title) {
+        return states.get(title);
+    }
+
+    /**
+     * Check if the state with specified title is a final state
+     *
+     * @param title the title of the state to check
+     * @return true if the state is a final state, else false
+     */
+    public boolean isFinalState(String title) {
+        State state = states.get(title);
+        return state != null && finalStates.contains(state);
+    }
+
+    /**
+     * The machine alphabet getter
+     *
+     * @return the machine alphabet
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Machine state title generator getter
+     *
+     * @return the machine state title generator
+     */
+    public TitleGenerator getTitleGenerator() {
+        return titleGenerator;
+    }
+
+    /**
+     * Count of the machine modifications getter. The count is increased by every change of the machine states,
+     * transitions, start state or final states, so it can be used to detect stale results computed from the machine.
+     *
+     * @return count of the machine modifications
+     */
+    public long getModificationsCount() {
+        return modificationsCount;
+    }
+
     /**
      * Reset the machine (set the start state as current state)
      */
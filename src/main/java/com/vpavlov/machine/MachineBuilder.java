@@ -0,0 +1,289 @@
+package com.vpavlov.machine;
+
+import com.vpavlov.machine.engine.CompiledMachine;
+import com.vpavlov.services.machine.api.TitleGenerator;
+import com.vpavlov.services.machine.exceptions.StartStateSetException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bulk builder of large generated machines. States are numbered from 0, symbols are given by their alphabet codes
+ * and transitions are kept in a flat primitive table, so building takes linear time and memory.
+ * Everything is validated in one pass when the machine is built.<br>
+ * The builder produces either an editable {@link Machine} or directly a {@link CompiledMachine}.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see Machine
+ * @see CompiledMachine
+ */
+public class MachineBuilder {
+
+    /**
+     * Alphabet of the machine
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Count of the alphabet symbols
+     */
+    private final int width;
+
+    /**
+     * Count of the states
+     */
+    private final int count;
+
+    /**
+     * Machine state title generator
+     */
+    private final TitleGenerator titleGenerator;
+
+    /**
+     * Flat transition table [state * width + symbol code] -> next state or {@link CompiledMachine#NO_TRANSITION}
+     */
+    private final int[] table;
+
+    /**
+     * State titles by state number, null for the titles to be generated
+     */
+    private final String[] titles;
+
+    /**
+     * Final states numbers
+     */
+    private final BitSet finalStates;
+
+    /**
+     * Start state number, -1 if not set
+     */
+    private int startState = -1;
+
+    /**
+     * Constructor
+     *
+     * @param alphabet       alphabet of the machine
+     * @param statesCount    count of the machine states
+     * @param titleGenerator generator of the titles of the states without specified title
+     * @throws IllegalArgumentException if the count of the states is negative or the transition table is too large
+     */
+    public MachineBuilder(Alphabet alphabet, int statesCount, TitleGenerator titleGenerator) throws IllegalArgumentException {
+        if (statesCount < 0) {
+            throw new IllegalArgumentException("The count of the states must not be negative.");
+        }
+        this.alphabet = alphabet;
+        this.width = alphabet.size();
+        this.count = statesCount;
+        this.titleGenerator = titleGenerator;
+        try {
+            this.table = new int[Math.multiplyExact(statesCount, width)];
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("The transition table is too large.", e);
+        }
+        Arrays.fill(table, CompiledMachine.NO_TRANSITION);
+        this.titles = new String[statesCount];
+        this.finalStates = new BitSet(statesCount);
+    }
+
+    /**
+     * Sets the title of the state
+     *
+     * @param state the state number
+     * @param title the state title
+     * @return this builder
+     * @throws IndexOutOfBoundsException if the state number is out of range
+     */
+    public MachineBuilder setTitle(int state, String title) throws IndexOutOfBoundsException {
+        titles[state] = title;
+        return this;
+    }
+
+    /**
+     * Sets the start state
+     *
+     * @param state the state number
+     * @return this builder
+     * @throws IndexOutOfBoundsException if the state number is out of range
+     */
+    public MachineBuilder setStartState(int state) throws IndexOutOfBoundsException {
+        startState = checkState(state);
+        return this;
+    }
+
+    /**
+     * Adds final states
+     *
+     * @param states the state numbers
+     * @return this builder
+     * @throws IndexOutOfBoundsException if a state number is out of range
+     */
+    public MachineBuilder addFinalStates(int... states) throws IndexOutOfBoundsException {
+        for (int state : states) {
+            finalStates.set(checkState(state));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a transition
+     *
+     * @param from   the number of the state from which the transition is
+     * @param symbol the code of the transition symbol
+     * @param to     the number of the state to which the transition is
+     * @return this builder
+     * @throws IndexOutOfBoundsException if a state number or the symbol code is out of range
+     * @throws IllegalArgumentException  if a different transition from the state with the symbol already exists
+     */
+    public MachineBuilder addTransition(int from, int symbol, int to) throws IndexOutOfBoundsException, IllegalArgumentException {
+        checkState(from);
+        checkState(to);
+        if (symbol < 0 || symbol >= width) {
+            throw new IndexOutOfBoundsException(String.format("The symbol code %d is out of range.", symbol));
+        }
+        int index = from * width + symbol;
+        if (table[index] != CompiledMachine.NO_TRANSITION && table[index] != to) {
+            throw new IllegalArgumentException(String.format("The transition from state %d with symbol '%s' already exists.", from, alphabet.decode(symbol)));
+        }
+        table[index] = to;
+        return this;
+    }
+
+    /**
+     * Adds transitions given by parallel arrays
+     *
+     * @param from    the numbers of the states from which the transitions are
+     * @param symbols the codes of the transition symbols
+     * @param to      the numbers of the states to which the transitions are
+     * @return this builder
+     * @throws IndexOutOfBoundsException if a state number or a symbol code is out of range
+     * @throws IllegalArgumentException  if the arrays have different lengths or a conflicting transition exists
+     */
+    public MachineBuilder addTransitions(int[] from, int[] symbols, int[] to) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (from.length != symbols.length || from.length != to.length) {
+            throw new IllegalArgumentException("The transition arrays have different lengths.");
+        }
+        for (int i = 0; i < from.length; ++i) {
+            addTransition(from[i], symbols[i], to[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Sets all transitions from the flat table. The table is validated when the machine is built.
+     *
+     * @param table flat transition table [state * alphabet size + symbol code] -> next state or {@link CompiledMachine#NO_TRANSITION}
+     * @return this builder
+     * @throws IllegalArgumentException if the table size does not match the count of the states
+     */
+    public MachineBuilder setTransitions(int[] table) throws IllegalArgumentException {
+        if (table.length != this.table.length) {
+            throw new IllegalArgumentException("The transition table size does not match the count of the states.");
+        }
+        System.arraycopy(table, 0, this.table, 0, table.length);
+        return this;
+    }
+
+    /**
+     * Builds the compiled machine
+     *
+     * @return compiled machine
+     * @throws IllegalStateException if the start state is not set, a transition is out of range or the titles are not unique
+     */
+    public CompiledMachine buildCompiled() throws IllegalStateException {
+        String[] titles = validate();
+        try {
+            return CompiledMachine.fromTable(alphabet, table, startState, finalStates, titles);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the editable machine
+     *
+     * @return machine
+     * @throws IllegalStateException if the start state is not set, a transition is out of range or the titles are not unique
+     */
+    public Machine build() throws IllegalStateException {
+        String[] titles = validate();
+        for (int i = 0; i < table.length; ++i) {
+            int next = table[i];
+            if (next != CompiledMachine.NO_TRANSITION && (next < 0 || next >= count)) {
+                throw new IllegalStateException(String.format("The transition from state %d with symbol '%s' is out of range.", i / width, alphabet.decode(i % width)));
+            }
+        }
+        Machine machine = new Machine(alphabet, titleGenerator);
+        State[] states = new State[count];
+        for (int state = 0; state < count; ++state) {
+            machine.addState(titles[state]);
+            states[state] = machine.getState(titles[state]);
+        }
+        for (int state = 0; state < count; ++state) {
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int next = table[state * width + symbol];
+                if (next != CompiledMachine.NO_TRANSITION) {
+                    machine.putTransition(states[state], symbol, states[next]);
+                }
+            }
+        }
+        try {
+            machine.setStartState(titles[startState]);
+        } catch (StartStateSetException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int state = finalStates.nextSetBit(0); state >= 0; state = finalStates.nextSetBit(state + 1)) {
+            machine.addFinalState(titles[state]);
+        }
+
+        return machine;
+    }
+
+    /**
+     * Validates the start state and the titles and completes the titles
+     *
+     * @return state titles by state number
+     * @throws IllegalStateException if the start state is not set or the titles are not unique
+     */
+    private String[] validate() throws IllegalStateException {
+        if (startState < 0) {
+            throw new IllegalStateException("The machine start state is not set.");
+        }
+
+        String[] result = new String[count];
+        Set<String> used = new HashSet<>();
+        for (int state = 0; state < count; ++state) {
+            if (titles[state] != null && !used.add(titles[state])) {
+                throw new IllegalStateException(String.format("The state title '%s' is not unique.", titles[state]));
+            }
+        }
+        int titleIndex = 0;
+        for (int state = 0; state < count; ++state) {
+            String title = titles[state];
+            if (title == null) {
+                do {
+                    title = titleGenerator.generateTitle(titleIndex++);
+                } while (!used.add(title));
+            }
+            result[state] = title;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks the state number
+     *
+     * @param state the state number
+     * @return the state number
+     * @throws IndexOutOfBoundsException if the state number is out of range
+     */
+    private int checkState(int state) throws IndexOutOfBoundsException {
+        if (state < 0 || state >= count) {
+            throw new IndexOutOfBoundsException(String.format("The state %d is out of range.", state));
+        }
+        return state;
+    }
+}
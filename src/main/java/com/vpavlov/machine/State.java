@@ -19,9 +19,14 @@ public class State {
     private String title;
 
     /**
-     * Transitions from the state
+     * Alphabet of the machine
      */
-    private final Map<String, State> transitionsOut;
+    private final Alphabet alphabet;
+
+    /**
+     * Transitions from the state indexed by the symbol code
+     */
+    private final TransitionsOut transitionsOut;
 
     /**
      * Transitions to the state
@@ -31,11 +36,13 @@ public class State {
     /**
      * Constructor
      *
-     * @param title title of the state
+     * @param title    title of the state
+     * @param alphabet alphabet of the machine
      */
-    public State(String title) {
+    public State(String title, Alphabet alphabet) {
         this.title = title;
-        this.transitionsOut = new HashMap<>();
+        this.alphabet = alphabet;
+        this.transitionsOut = new TransitionsOut(alphabet);
         this.transitionsIn = new HashMap<>();
     }
 
@@ -45,7 +52,8 @@ public class State {
      * @param state state to copy
      */
     public State(State state) {
-        this.transitionsOut = new HashMap<>();
+        this.alphabet = state.alphabet;
+        this.transitionsOut = new TransitionsOut(state.alphabet);
         this.transitionsIn = new HashMap<>();
         this.title = state.title;
     }
@@ -55,9 +63,24 @@ public class State {
      *
      * @param symbol transitions symbol
      * @param next   the state to which the transition is
+     * @throws IllegalArgumentException if the symbol is not in the alphabet
+     */
+    public void addTransitionOut(String symbol, State next) throws IllegalArgumentException {
+        int code = alphabet.encode(symbol);
+        if (code == Alphabet.UNKNOWN) {
+            throw new IllegalArgumentException(String.format("The symbol '%s' is not in the alphabet.", symbol));
+        }
+        transitionsOut.put(code, next);
+    }
+
+    /**
+     * Add new transitions from the state by the symbol code
+     *
+     * @param code the transition symbol code
+     * @param next the state to which the transition is
      */
-    public void addTransitionOut(String symbol, State next) {
-        transitionsOut.put(symbol, next);
+    void addTransitionOut(int code, State next) {
+        transitionsOut.put(code, next);
     }
 
     /**
@@ -78,7 +101,7 @@ public class State {
      */
     public void removeTransitionOut(String symbol) {
         System.out.printf("<%s> Removing transitionOut %s\n", this.title, symbol);
-        transitionsOut.remove(symbol);
+        transitionsOut.remove(alphabet.encode(symbol));
     }
 
     /**
@@ -109,9 +132,9 @@ public class State {
      * Remove all transitions from the state
      */
     public void removeTransitionsOut() {
-        for (String symbol : transitionsOut.keySet()) {
-            System.out.printf("<%s> Removing propagation for transitionOut %s\n", this.title, symbol);
-            transitionsOut.get(symbol).removeTransitionIn(symbol, this);
+        for (Map.Entry<String, State> transition : transitionsOut.asMap().entrySet()) {
+            System.out.printf("<%s> Removing propagation for transitionOut %s\n", this.title, transition.getKey());
+            transition.getValue().removeTransitionIn(transition.getKey(), this);
         }
         transitionsOut.clear();
     }
@@ -137,7 +160,36 @@ public class State {
      * @return the state to of the transition from the state with specified symbol
      */
     public State getTransitionOut(String symbol) {
-        return transitionsOut.get(symbol);
+        return transitionsOut.get(alphabet.encode(symbol));
+    }
+
+    /**
+     * Gets the state to of the transition from the state with specified symbol code
+     *
+     * @param code the transition symbol code
+     * @return the state to of the transition or null if there is no transition with the symbol
+     * @see Alphabet#encode(String)
+     */
+    public State getTransitionOut(int code) {
+        return transitionsOut.get(code);
+    }
+
+    /**
+     * Count of the transitions from the state getter
+     *
+     * @return count of the transitions from the state
+     */
+    public int getTransitionsOutCount() {
+        return transitionsOut.size();
+    }
+
+    /**
+     * Transitions from the state getter
+     *
+     * @return read-only view of the transitions from the state
+     */
+    public Map<String, State> getTransitionsOut() {
+        return transitionsOut.asMap();
     }
 
     /**
@@ -181,9 +233,8 @@ public class State {
         sb.append("----------------------------------------------------------------\n");
         sb.append("Transitions Out:\n");
         sb.append("----------------------------------------------------------------\n");
-        for (String symbol : transitionsOut.keySet()) {
-            State toState = transitionsOut.get(symbol);
-            sb.append(String.format("<%s> --%s--> <%s>\n", this.title, symbol, toState.title));
+        for (Map.Entry<String, State> transition : transitionsOut.asMap().entrySet()) {
+            sb.append(String.format("<%s> --%s--> <%s>\n", this.title, transition.getKey(), transition.getValue().title));
         }
 
         return sb.toString();
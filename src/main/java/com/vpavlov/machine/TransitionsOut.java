@@ -0,0 +1,300 @@
+package com.vpavlov.machine;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Transitions from a state indexed by the alphabet symbol code.
+ * For small alphabets the next states are kept in an array indexed directly by the code,
+ * for large alphabets in an open addressing hash table with linear probing, so sparse states stay small.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see State
+ */
+final class TransitionsOut {
+
+    /**
+     * Maximal alphabet size for which the transitions are indexed directly by the code
+     */
+    static final int DIRECT_MAX_SYMBOLS = 64;
+
+    /**
+     * Initial capacity of the hash table
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Mark of the empty hash table slot
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * Alphabet of the machine
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * True if the next states are indexed directly by the code
+     */
+    private final boolean direct;
+
+    /**
+     * Symbol codes of the hash table slots, null in the direct mode
+     */
+    private int[] codes;
+
+    /**
+     * Next states by code in the direct mode, by slot in the hash table mode
+     */
+    private State[] states;
+
+    /**
+     * Count of the transitions
+     */
+    private int size = 0;
+
+    /**
+     * Constructor
+     *
+     * @param alphabet alphabet of the machine
+     */
+    TransitionsOut(Alphabet alphabet) {
+        this.alphabet = alphabet;
+        this.direct = alphabet.size() <= DIRECT_MAX_SYMBOLS;
+        if (direct) {
+            this.states = new State[alphabet.size()];
+        } else {
+            this.codes = new int[INITIAL_CAPACITY];
+            Arrays.fill(codes, EMPTY);
+            this.states = new State[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Gets the next state
+     *
+     * @param code the symbol code
+     * @return the next state or null if there is no transition with the symbol
+     */
+    State get(int code) {
+        if (direct) {
+            return code >= 0 && code < states.length ? states[code] : null;
+        }
+        if (code < 0) {
+            return null;
+        }
+        int mask = codes.length - 1;
+        for (int slot = hash(code) & mask; codes[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (codes[slot] == code) {
+                return states[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts the transition, replaces the existing one
+     *
+     * @param code the symbol code
+     * @param next the next state
+     * @throws IllegalArgumentException if the code is not a code of the alphabet symbol
+     */
+    void put(int code, State next) throws IllegalArgumentException {
+        if (code < 0 || code >= alphabet.size()) {
+            throw new IllegalArgumentException(String.format("The symbol code %d is out of the alphabet.", code));
+        }
+        if (direct) {
+            if (states[code] == null) {
+                ++size;
+            }
+            states[code] = next;
+            return;
+        }
+        int mask = codes.length - 1;
+        int slot = hash(code) & mask;
+        while (codes[slot] != EMPTY) {
+            if (codes[slot] == code) {
+                states[slot] = next;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 2 > codes.length) {
+            grow();
+            put(code, next);
+            return;
+        }
+        codes[slot] = code;
+        states[slot] = next;
+        ++size;
+    }
+
+    /**
+     * Removes the transition
+     *
+     * @param code the symbol code
+     */
+    void remove(int code) {
+        if (direct) {
+            if (code >= 0 && code < states.length && states[code] != null) {
+                states[code] = null;
+                --size;
+            }
+            return;
+        }
+        if (code < 0) {
+            return;
+        }
+        int mask = codes.length - 1;
+        int slot = hash(code) & mask;
+        while (codes[slot] != code) {
+            if (codes[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        --size;
+        //backward shift of the following entries of the probe sequence
+        int gap = slot;
+        for (int next = (gap + 1) & mask; codes[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(codes[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                codes[gap] = codes[next];
+                states[gap] = states[next];
+                gap = next;
+            }
+        }
+        codes[gap] = EMPTY;
+        states[gap] = null;
+    }
+
+    /**
+     * Removes all transitions
+     */
+    void clear() {
+        Arrays.fill(states, null);
+        if (!direct) {
+            Arrays.fill(codes, EMPTY);
+        }
+        size = 0;
+    }
+
+    /**
+     * Count of the transitions getter
+     *
+     * @return count of the transitions
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the code at the position of the storage
+     *
+     * @param position the position in the storage
+     * @return the symbol code or {@link #EMPTY} if there is no transition at the position
+     */
+    private int codeAt(int position) {
+        if (direct) {
+            return states[position] != null ? position : EMPTY;
+        }
+        return codes[position];
+    }
+
+    /**
+     * Doubles the hash table capacity
+     */
+    private void grow() {
+        int[] oldCodes = codes;
+        State[] oldStates = states;
+        codes = new int[oldCodes.length * 2];
+        Arrays.fill(codes, EMPTY);
+        states = new State[oldCodes.length * 2];
+        size = 0;
+        for (int slot = 0; slot < oldCodes.length; ++slot) {
+            if (oldCodes[slot] != EMPTY) {
+                put(oldCodes[slot], oldStates[slot]);
+            }
+        }
+    }
+
+    /**
+     * Hash of the symbol code
+     *
+     * @param code the symbol code
+     * @return hash of the code
+     */
+    private static int hash(int code) {
+        int hash = code * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Creates the read-only map view of the transitions
+     *
+     * @return map view [transition symbol, next state]
+     */
+    Map<String, State> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public State get(Object symbol) {
+                return symbol instanceof String ? TransitionsOut.this.get(alphabet.encode((String) symbol)) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object symbol) {
+                return get(symbol) != null;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Set<Entry<String, State>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, State>> iterator() {
+                        return new Iterator<>() {
+                            private int position = advance(0);
+
+                            private int advance(int from) {
+                                while (from < states.length && codeAt(from) == EMPTY) {
+                                    ++from;
+                                }
+                                return from;
+                            }
+
+                            @Override
+                            public boolean hasNext() {
+                                return position < states.length;
+                            }
+
+                            @Override
+                            public Entry<String, State> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                Entry<String, State> entry = new SimpleImmutableEntry<>(alphabet.decode(codeAt(position)), states[position]);
+                                position = advance(position + 1);
+                                return entry;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+        };
+    }
+}
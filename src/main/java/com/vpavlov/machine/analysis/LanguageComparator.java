@@ -0,0 +1,193 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Language comparator static class. Checks equivalence and inclusion of machine languages
+ * and finds the shortest words proving the difference.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see com.vpavlov.machine.Machine
+ */
+public final class LanguageComparator {
+
+    /**
+     * Private empty constructor
+     */
+    private LanguageComparator() {
+    }
+
+    /**
+     * Check if the machines accept the same language
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return true if the machines are equivalent, else false
+     * @throws IllegalArgumentException if the machine alphabets differ
+     * @throws IllegalStateException    if the start state of any machine is not set
+     */
+    public static boolean areEquivalent(Machine first, Machine second) throws IllegalArgumentException, IllegalStateException {
+        return findDistinguishingWord(first, second) == null;
+    }
+
+    /**
+     * Finds the shortest word accepted by exactly one of the machines
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return symbols of the shortest distinguishing word or null if the machines are equivalent
+     * @throws IllegalArgumentException if the machine alphabets differ
+     * @throws IllegalStateException    if the start state of any machine is not set
+     */
+    public static List<String> findDistinguishingWord(Machine first, Machine second) throws IllegalArgumentException, IllegalStateException {
+        return findDistinguishingWord(CompiledMachine.compile(first), CompiledMachine.compile(second));
+    }
+
+    /**
+     * Finds the shortest word accepted by exactly one of the machines using the Hopcroft-Karp union-find algorithm.
+     * Pairs of states are visited in breadth-first order, so the first found pair with different acceptance
+     * is reached by the shortest distinguishing word.
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return symbols of the shortest distinguishing word or null if the machines are equivalent
+     * @throws IllegalArgumentException if the machine alphabets differ
+     */
+    public static List<String> findDistinguishingWord(CompiledMachine first, CompiledMachine second) throws IllegalArgumentException {
+        checkAlphabets(first, second);
+        int width = first.getSymbolsCount();
+        int offset = first.getStatesCount();
+        int[] parents = new int[offset + second.getStatesCount()];
+        int[] sizes = new int[parents.length];
+        for (int i = 0; i < parents.length; ++i) {
+            parents[i] = i;
+        }
+        Arrays.fill(sizes, 1);
+
+        PairQueue queue = new PairQueue();
+        queue.add(first.getStartState(), second.getStartState(), -1, -1);
+        for (int head = 0; head < queue.size(); ++head) {
+            int p = queue.first(head);
+            int q = queue.second(head);
+            int rootP = find(parents, p);
+            int rootQ = find(parents, offset + q);
+            if (rootP == rootQ) {
+                continue;
+            }
+            if (first.isFinalState(p) != second.isFinalState(q)) {
+                return queue.word(head, first.getAlphabet());
+            }
+            if (sizes[rootP] < sizes[rootQ]) {
+                parents[rootP] = rootQ;
+                sizes[rootQ] += sizes[rootP];
+            } else {
+                parents[rootQ] = rootP;
+                sizes[rootP] += sizes[rootQ];
+            }
+            for (int symbol = 0; symbol < width; ++symbol) {
+                queue.add(first.step(p, symbol), second.step(q, symbol), head, symbol);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Check if every word accepted by the first machine is accepted by the second machine
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return true if the language of the first machine is included in the language of the second one, else false
+     * @throws IllegalArgumentException if the machine alphabets differ
+     * @throws IllegalStateException    if the start state of any machine is not set
+     */
+    public static boolean isIncluded(Machine first, Machine second) throws IllegalArgumentException, IllegalStateException {
+        return findInclusionCounterexample(first, second) == null;
+    }
+
+    /**
+     * Finds the shortest word accepted by the first machine and rejected by the second machine
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return symbols of the shortest counterexample or null if the language of the first machine is included in the second one
+     * @throws IllegalArgumentException if the machine alphabets differ
+     * @throws IllegalStateException    if the start state of any machine is not set
+     */
+    public static List<String> findInclusionCounterexample(Machine first, Machine second) throws IllegalArgumentException, IllegalStateException {
+        return findInclusionCounterexample(CompiledMachine.compile(first), CompiledMachine.compile(second));
+    }
+
+    /**
+     * Finds the shortest word accepted by the first machine and rejected by the second machine
+     * using breadth-first search over the reachable states of the product machine.
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @return symbols of the shortest counterexample or null if the language of the first machine is included in the second one
+     * @throws IllegalArgumentException if the machine alphabets differ
+     */
+    public static List<String> findInclusionCounterexample(CompiledMachine first, CompiledMachine second) throws IllegalArgumentException {
+        checkAlphabets(first, second);
+        int width = first.getSymbolsCount();
+        long secondCount = second.getStatesCount();
+        PairSet visited = new PairSet();
+        PairQueue queue = new PairQueue();
+        queue.add(first.getStartState(), second.getStartState(), -1, -1);
+        visited.add(first.getStartState() * secondCount + second.getStartState());
+        for (int head = 0; head < queue.size(); ++head) {
+            int p = queue.first(head);
+            int q = queue.second(head);
+            if (first.isFinalState(p) && !second.isFinalState(q)) {
+                return queue.word(head, first.getAlphabet());
+            }
+            if (first.isRejectingSink(p) || second.isAcceptingSink(q)) {
+                //no counterexample continues from this pair
+                continue;
+            }
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int nextP = first.step(p, symbol);
+                int nextQ = second.step(q, symbol);
+                if (visited.add(nextP * secondCount + nextQ)) {
+                    queue.add(nextP, nextQ, head, symbol);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the representative of the union-find set with path halving
+     *
+     * @param parents union-find parents
+     * @param element the element
+     * @return representative of the element set
+     */
+    private static int find(int[] parents, int element) {
+        while (parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+
+        return element;
+    }
+
+    /**
+     * Checks that the machines have the same alphabet
+     *
+     * @param first  the first machine
+     * @param second the second machine
+     * @throws IllegalArgumentException if the machine alphabets differ
+     */
+    private static void checkAlphabets(CompiledMachine first, CompiledMachine second) throws IllegalArgumentException {
+        if (!first.getAlphabet().isCompatible(second.getAlphabet())) {
+            throw new IllegalArgumentException("The machines have different alphabets.");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.engine.CompiledMachine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Language queries static class. Answers emptiness and shortest word queries on compiled machines
+ * by breadth-first search with primitive queues and visited bit sets.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public final class LanguageQueries {
+
+    /**
+     * Private empty constructor
+     */
+    private LanguageQueries() {
+    }
+
+    /**
+     * Check if the machine accepts no word
+     *
+     * @param machine the machine
+     * @return true if the machine language is empty, else false
+     */
+    public static boolean isEmpty(CompiledMachine machine) {
+        return machine.isRejectingSink(machine.getStartState());
+    }
+
+    /**
+     * Finds the shortest word accepted by the machine
+     *
+     * @param machine the machine
+     * @return symbols of the shortest accepted word or null if the machine language is empty
+     */
+    public static List<String> shortestAcceptedWord(CompiledMachine machine) {
+        BitSet targets = new BitSet(machine.getStatesCount());
+        for (int state = 0; state < machine.getStatesCount(); ++state) {
+            targets.set(state, machine.isFinalState(state));
+        }
+
+        return shortestWord(machine, targets);
+    }
+
+    /**
+     * Finds the shortest word rejected by the machine
+     *
+     * @param machine the machine
+     * @return symbols of the shortest rejected word or null if the machine accepts every word
+     */
+    public static List<String> shortestRejectedWord(CompiledMachine machine) {
+        BitSet targets = new BitSet(machine.getStatesCount());
+        for (int state = 0; state < machine.getStatesCount(); ++state) {
+            targets.set(state, !machine.isFinalState(state));
+        }
+
+        return shortestWord(machine, targets);
+    }
+
+    /**
+     * Finds the shortest word leading from the start state to the state with specified title
+     *
+     * @param machine the machine
+     * @param title   the title of the target state
+     * @return symbols of the shortest word or null if the state is unreachable or does not exist
+     */
+    public static List<String> shortestWordTo(CompiledMachine machine, String title) {
+        BitSet targets = new BitSet(machine.getStatesCount());
+        for (int state = 0; state < machine.getStatesCount(); ++state) {
+            targets.set(state, title.equals(machine.stateTitle(state)));
+        }
+
+        return shortestWord(machine, targets);
+    }
+
+    /**
+     * Finds the shortest word leading from the start state to any of the target states
+     *
+     * @param machine the machine
+     * @param targets numbers of the target states
+     * @return symbols of the shortest word or null if no target state is reachable
+     */
+    public static List<String> shortestWord(CompiledMachine machine, BitSet targets) {
+        int count = machine.getStatesCount();
+        int width = machine.getSymbolsCount();
+        int[] queue = new int[count];
+        int[] parents = new int[count];
+        int[] symbols = new int[count];
+        BitSet visited = new BitSet(count);
+        int start = machine.getStartState();
+        int tail = 0;
+        queue[tail++] = start;
+        parents[start] = -1;
+        visited.set(start);
+        for (int head = 0; head < tail; ++head) {
+            int state = queue[head];
+            if (targets.get(state)) {
+                return word(machine, state, parents, symbols);
+            }
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int next = machine.step(state, symbol);
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    parents[next] = state;
+                    symbols[next] = symbol;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Restores the word leading from the start state to the state
+     *
+     * @param machine the machine
+     * @param state   the reached state
+     * @param parents states from which the states were reached
+     * @param symbols symbol codes by which the states were reached
+     * @return symbols of the word
+     */
+    private static List<String> word(CompiledMachine machine, int state, int[] parents, int[] symbols) {
+        List<String> word = new ArrayList<>();
+        for (int current = state; parents[current] != -1; current = parents[current]) {
+            word.add(machine.getAlphabet().decode(symbols[current]));
+        }
+        Collections.reverse(word);
+
+        return word;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+
+import java.util.Map;
+
+/**
+ * Result of the machine minimization
+ *
+ * @param machine minimal machine equivalent to the source machine
+ * @param titles  map [source state title, minimal machine state title], states unreachable from the start state are not mapped
+ * @author vpavlov
+ */
+public record MinimizationResult(Machine machine, Map<String, String> titles) {
+}
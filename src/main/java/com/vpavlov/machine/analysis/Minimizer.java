@@ -0,0 +1,278 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+import com.vpavlov.machine.engine.ReverseIndex;
+import com.vpavlov.services.machine.exceptions.StartStateSetException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine minimizer static class. Builds the minimal equivalent machine using Hopcroft's
+ * partition refinement algorithm in O(n * k * log n) time, where n is the count of states and k is the alphabet size.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see com.vpavlov.machine.Machine
+ */
+public final class Minimizer {
+
+    /**
+     * Private empty constructor
+     */
+    private Minimizer() {
+    }
+
+    /**
+     * Minimizes the specified machine. States unreachable from the start state are dropped,
+     * every state of the minimal machine keeps the smallest title of the source states merged into it.
+     *
+     * @param machine the machine to minimize
+     * @return minimal machine and the map of source state titles to minimal machine state titles
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public static MinimizationResult minimize(Machine machine) throws IllegalStateException {
+        CompiledMachine compiled = CompiledMachine.compile(machine);
+        int width = compiled.getSymbolsCount();
+
+        int[] reachable = reachableStates(compiled);
+        int count = reachable.length;
+        int[] indexes = new int[compiled.getStatesCount()];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < count; ++i) {
+            indexes[reachable[i]] = i;
+        }
+        int[] delta = new int[count * width];
+        boolean[] accepting = new boolean[count];
+        for (int i = 0; i < count; ++i) {
+            accepting[i] = compiled.isFinalState(reachable[i]);
+            for (int symbol = 0; symbol < width; ++symbol) {
+                delta[i * width + symbol] = indexes[compiled.step(reachable[i], symbol)];
+            }
+        }
+
+        int[] blocks = refine(count, width, delta, accepting);
+        return createMachine(machine, compiled, reachable, delta, accepting, blocks);
+    }
+
+    /**
+     * Finds states reachable from the start state
+     *
+     * @param compiled compiled machine
+     * @return numbers of the reachable states in breadth-first order
+     */
+    private static int[] reachableStates(CompiledMachine compiled) {
+        int width = compiled.getSymbolsCount();
+        boolean[] visited = new boolean[compiled.getStatesCount()];
+        int[] queue = new int[compiled.getStatesCount()];
+        int tail = 0;
+        queue[tail++] = compiled.getStartState();
+        visited[compiled.getStartState()] = true;
+        for (int head = 0; head < tail; ++head) {
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int next = compiled.step(queue[head], symbol);
+                if (!visited[next]) {
+                    visited[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Hopcroft's partition refinement of a complete machine
+     *
+     * @param count     count of the states
+     * @param width     count of the alphabet symbols
+     * @param delta     flat transition table
+     * @param accepting final states flags
+     * @return block indexes of the states, equivalent states share the block
+     */
+    static int[] refine(int count, int width, int[] delta, boolean[] accepting) {
+        ReverseIndex reverse = ReverseIndex.of(count, width, delta);
+
+        int[] elements = new int[count];
+        int[] locations = new int[count];
+        int[] blocks = new int[count];
+        int[] first = new int[count];
+        int[] past = new int[count];
+        int[] marked = new int[count];
+        int finals = 0;
+        for (int state = 0; state < count; ++state) {
+            if (accepting[state]) {
+                ++finals;
+            }
+        }
+        int nextFinal = 0;
+        int nextOther = finals;
+        for (int state = 0; state < count; ++state) {
+            int location = accepting[state] ? nextFinal++ : nextOther++;
+            elements[location] = state;
+            locations[state] = location;
+        }
+        int blocksCount = 0;
+        if (finals > 0) {
+            first[blocksCount] = 0;
+            past[blocksCount] = finals;
+            ++blocksCount;
+        }
+        if (finals < count) {
+            first[blocksCount] = finals;
+            past[blocksCount] = count;
+            for (int i = finals; i < count; ++i) {
+                blocks[elements[i]] = blocksCount;
+            }
+            ++blocksCount;
+        }
+
+        int[] work = new int[count * width];
+        int workSize = 0;
+        if (blocksCount == 2) {
+            int smaller = finals <= count - finals ? 0 : 1;
+            for (int symbol = 0; symbol < width; ++symbol) {
+                work[workSize++] = smaller * width + symbol;
+            }
+        }
+
+        int[] splitter = new int[count];
+        int[] touched = new int[count];
+        while (workSize > 0) {
+            int entry = work[--workSize];
+            int splitterBlock = entry / width;
+            int symbol = entry % width;
+            int splitterSize = past[splitterBlock] - first[splitterBlock];
+            System.arraycopy(elements, first[splitterBlock], splitter, 0, splitterSize);
+
+            int touchedCount = 0;
+            for (int i = 0; i < splitterSize; ++i) {
+                for (int j = reverse.start(splitter[i], symbol), end = reverse.end(splitter[i], symbol); j < end; ++j) {
+                    int state = reverse.predecessor(j);
+                    int block = blocks[state];
+                    int location = locations[state];
+                    int markedEnd = first[block] + marked[block];
+                    if (location < markedEnd) {
+                        continue;
+                    }
+                    //move the state to the marked prefix of its block
+                    int other = elements[markedEnd];
+                    elements[markedEnd] = state;
+                    locations[state] = markedEnd;
+                    elements[location] = other;
+                    locations[other] = location;
+                    if (marked[block]++ == 0) {
+                        touched[touchedCount++] = block;
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; ++i) {
+                int block = touched[i];
+                int markedCount = marked[block];
+                int size = past[block] - first[block];
+                marked[block] = 0;
+                if (markedCount == size) {
+                    continue;
+                }
+                //the smaller part becomes the new block
+                int newBlock = blocksCount++;
+                if (markedCount <= size - markedCount) {
+                    first[newBlock] = first[block];
+                    past[newBlock] = first[block] + markedCount;
+                    first[block] = past[newBlock];
+                } else {
+                    first[newBlock] = first[block] + markedCount;
+                    past[newBlock] = past[block];
+                    past[block] = first[newBlock];
+                }
+                for (int j = first[newBlock]; j < past[newBlock]; ++j) {
+                    blocks[elements[j]] = newBlock;
+                }
+                //whether or not the old block is waiting, adding the smaller part is sufficient
+                for (int c = 0; c < width; ++c) {
+                    work[workSize++] = newBlock * width + c;
+                }
+            }
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Creates the minimal machine from the state blocks
+     *
+     * @param machine   source machine
+     * @param compiled  compiled source machine
+     * @param reachable compiled numbers of the reachable states
+     * @param delta     flat transition table of the reachable states
+     * @param accepting final states flags of the reachable states
+     * @param blocks    block indexes of the reachable states
+     * @return minimal machine and the map of source state titles to minimal machine state titles
+     */
+    private static MinimizationResult createMachine(Machine machine, CompiledMachine compiled, int[] reachable,
+                                                    int[] delta, boolean[] accepting, int[] blocks) {
+        int width = compiled.getSymbolsCount();
+        int count = reachable.length;
+        String[] blockTitles = new String[count];
+        int[] representatives = new int[count];
+        Arrays.fill(representatives, -1);
+        for (int i = 0; i < count; ++i) {
+            int block = blocks[i];
+            String title = compiled.stateTitle(reachable[i]);
+            if (representatives[block] == -1) {
+                representatives[block] = i;
+            }
+            if (title != null && (blockTitles[block] == null || title.compareTo(blockTitles[block]) < 0)) {
+                blockTitles[block] = title;
+            }
+        }
+
+        //blocks without title contain only the implicit sink state and stay implicit
+        Machine minimal = new Machine(machine.getAlphabet(), machine.getTitleGenerator());
+        for (int block = 0; block < count; ++block) {
+            if (blockTitles[block] != null) {
+                minimal.addState(blockTitles[block]);
+                if (accepting[representatives[block]]) {
+                    minimal.addFinalState(blockTitles[block]);
+                }
+            }
+        }
+        for (int block = 0; block < count; ++block) {
+            if (blockTitles[block] == null) {
+                continue;
+            }
+            int representative = representatives[block];
+            Map<String, List<String>> symbolsByTarget = new LinkedHashMap<>();
+            for (int symbol = 0; symbol < width; ++symbol) {
+                String target = blockTitles[blocks[delta[representative * width + symbol]]];
+                if (target != null) {
+                    symbolsByTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(compiled.getAlphabet().decode(symbol));
+                }
+            }
+            for (Map.Entry<String, List<String>> entry : symbolsByTarget.entrySet()) {
+                minimal.addAndReplaceTransitions(entry.getValue(), blockTitles[block], entry.getKey());
+            }
+        }
+        try {
+            minimal.setStartState(blockTitles[blocks[0]]);
+        } catch (StartStateSetException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Map<String, String> titles = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            String title = compiled.stateTitle(reachable[i]);
+            if (title != null) {
+                titles.put(title, blockTitles[blocks[i]]);
+            }
+        }
+
+        return new MinimizationResult(minimal, titles);
+    }
+}
@@ -0,0 +1,117 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Breadth-first search queue of state pairs. Every queued pair remembers the pair and the symbol it was reached from,
+ * so the word leading to any queued pair can be restored.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ */
+final class PairQueue {
+
+    /**
+     * Initial capacity of the queue
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * First states of the pairs
+     */
+    private int[] firstStates = new int[INITIAL_CAPACITY];
+
+    /**
+     * Second states of the pairs
+     */
+    private int[] secondStates = new int[INITIAL_CAPACITY];
+
+    /**
+     * Indexes of the pairs from which the pairs were reached, -1 for the start pair
+     */
+    private int[] parents = new int[INITIAL_CAPACITY];
+
+    /**
+     * Symbol codes by which the pairs were reached
+     */
+    private int[] symbols = new int[INITIAL_CAPACITY];
+
+    /**
+     * Count of the queued pairs
+     */
+    private int size = 0;
+
+    /**
+     * Adds the pair to the end of the queue
+     *
+     * @param first  first state of the pair
+     * @param second second state of the pair
+     * @param parent index of the pair from which the pair was reached, -1 for the start pair
+     * @param symbol symbol code by which the pair was reached
+     */
+    void add(int first, int second, int parent, int symbol) {
+        if (size == firstStates.length) {
+            int capacity = size * 2;
+            firstStates = Arrays.copyOf(firstStates, capacity);
+            secondStates = Arrays.copyOf(secondStates, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            symbols = Arrays.copyOf(symbols, capacity);
+        }
+        firstStates[size] = first;
+        secondStates[size] = second;
+        parents[size] = parent;
+        symbols[size] = symbol;
+        ++size;
+    }
+
+    /**
+     * Count of the queued pairs getter
+     *
+     * @return count of the pairs ever added
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * First state of the pair getter
+     *
+     * @param index the pair index
+     * @return first state of the pair
+     */
+    int first(int index) {
+        return firstStates[index];
+    }
+
+    /**
+     * Second state of the pair getter
+     *
+     * @param index the pair index
+     * @return second state of the pair
+     */
+    int second(int index) {
+        return secondStates[index];
+    }
+
+    /**
+     * Restores the word leading from the start pair to the pair
+     *
+     * @param index    the pair index
+     * @param alphabet alphabet to decode symbols with
+     * @return symbols of the word
+     */
+    List<String> word(int index, Alphabet alphabet) {
+        List<String> word = new ArrayList<>();
+        for (int i = index; parents[i] != -1; i = parents[i]) {
+            word.add(alphabet.decode(symbols[i]));
+        }
+        Collections.reverse(word);
+
+        return word;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vpavlov.machine.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of state pairs encoded as non-negative long keys
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ */
+final class PairSet {
+
+    /**
+     * Initial capacity of the set
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Mark of the empty slot
+     */
+    private static final long EMPTY = -1;
+
+    /**
+     * Hash table slots
+     */
+    private long[] slots = newSlots(INITIAL_CAPACITY);
+
+    /**
+     * Count of the keys in the set
+     */
+    private int size = 0;
+
+    /**
+     * Adds the key to the set
+     *
+     * @param key non-negative key
+     * @return true if the key was added, false if it is already in the set
+     */
+    boolean add(long key) {
+        if ((size + 1) * 2 > slots.length) {
+            grow();
+        }
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = key;
+        ++size;
+
+        return true;
+    }
+
+    /**
+     * Doubles the hash table
+     */
+    private void grow() {
+        long[] old = slots;
+        slots = newSlots(old.length * 2);
+        int mask = slots.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int slot = hash(key) & mask;
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = key;
+            }
+        }
+    }
+
+    /**
+     * Creates empty hash table slots
+     *
+     * @param capacity count of the slots
+     * @return empty slots
+     */
+    private static long[] newSlots(int capacity) {
+        long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    /**
+     * Hash of the key
+     *
+     * @param key the key
+     * @return hash of the key
+     */
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
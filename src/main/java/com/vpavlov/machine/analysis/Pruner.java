@@ -0,0 +1,156 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.State;
+import com.vpavlov.machine.engine.CompiledMachine;
+import com.vpavlov.machine.engine.ReverseIndex;
+import com.vpavlov.services.machine.exceptions.StartStateSetException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Machine pruner static class. Removes states unreachable from the start state
+ * and collapses states from which no final state is reachable (dead states) into one sink.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see com.vpavlov.machine.Machine
+ */
+public final class Pruner {
+
+    /**
+     * Private empty constructor
+     */
+    private Pruner() {
+    }
+
+    /**
+     * Prunes the specified machine. The sink keeps the title of the start state if the start state is dead,
+     * else the smallest title of the dead states.
+     *
+     * @param machine the machine to prune
+     * @return pruned machine and the report of the removed states
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public static PruningResult prune(Machine machine) throws IllegalStateException {
+        if (!machine.isStartStateSet()) {
+            throw new IllegalStateException("The machine start state is not set.");
+        }
+        State start = machine.getState(machine.getStartState());
+        Set<State> reachable = reachableStates(start);
+        Set<State> coReachable = coReachableStates(machine);
+
+        Set<String> unreachable = new TreeSet<>();
+        Set<String> dead = new TreeSet<>();
+        for (State state : machine.getStates()) {
+            if (!reachable.contains(state)) {
+                unreachable.add(state.getTitle());
+            } else if (!coReachable.contains(state)) {
+                dead.add(state.getTitle());
+            }
+        }
+        String sink = null;
+        if (!dead.isEmpty()) {
+            sink = dead.contains(start.getTitle()) ? start.getTitle() : dead.iterator().next();
+        }
+
+        Machine pruned = new Machine(machine.getAlphabet(), machine.getTitleGenerator());
+        for (State state : machine.getStates()) {
+            if (reachable.contains(state) && coReachable.contains(state)) {
+                pruned.addState(state.getTitle());
+                if (machine.isFinalState(state.getTitle())) {
+                    pruned.addFinalState(state.getTitle());
+                }
+            }
+        }
+        if (sink != null) {
+            pruned.addState(sink);
+            pruned.addAndReplaceTransitions(machine.getAlphabet().getSymbols(), sink, sink);
+        }
+        for (State state : machine.getStates()) {
+            if (reachable.contains(state) && coReachable.contains(state)) {
+                addTransitions(pruned, state, coReachable, sink);
+            }
+        }
+        try {
+            pruned.setStartState(start.getTitle());
+        } catch (StartStateSetException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return new PruningResult(pruned, unreachable, dead, sink);
+    }
+
+    /**
+     * Copies transitions of the live state into the pruned machine, transitions to dead states are redirected to the sink
+     *
+     * @param pruned      the pruned machine
+     * @param state       the live state
+     * @param coReachable states from which a final state is reachable
+     * @param sink        title of the sink
+     */
+    private static void addTransitions(Machine pruned, State state, Set<State> coReachable, String sink) {
+        Map<String, List<String>> symbolsByTarget = new LinkedHashMap<>();
+        for (Map.Entry<String, State> transition : state.getTransitionsOut().entrySet()) {
+            State next = transition.getValue();
+            String target = coReachable.contains(next) ? next.getTitle() : sink;
+            symbolsByTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(transition.getKey());
+        }
+        for (Map.Entry<String, List<String>> entry : symbolsByTarget.entrySet()) {
+            pruned.addAndReplaceTransitions(entry.getValue(), state.getTitle(), entry.getKey());
+        }
+    }
+
+    /**
+     * Finds states reachable from the start state by breadth-first search over the transitions from states
+     *
+     * @param start the start state
+     * @return reachable states
+     */
+    private static Set<State> reachableStates(State start) {
+        Set<State> visited = new HashSet<>();
+        Deque<State> queue = new ArrayDeque<>();
+        visited.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            for (State next : queue.poll().getTransitionsOut().values()) {
+                if (visited.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * Finds states from which a final state is reachable by breadth-first search
+     * over the reverse index of the compiled machine
+     *
+     * @param machine the machine
+     * @return co-reachable states
+     */
+    private static Set<State> coReachableStates(Machine machine) {
+        CompiledMachine compiled = CompiledMachine.compile(machine);
+        BitSet finalStates = new BitSet(compiled.getStatesCount());
+        for (int state = 0; state < compiled.getStatesCount(); ++state) {
+            finalStates.set(state, compiled.isFinalState(state));
+        }
+        BitSet coReachable = ReverseIndex.of(compiled).coReachable(finalStates);
+
+        Set<State> states = new HashSet<>();
+        for (int state = coReachable.nextSetBit(0); state >= 0; state = coReachable.nextSetBit(state + 1)) {
+            states.add(machine.getState(compiled.stateTitle(state)));
+        }
+        return states;
+    }
+}
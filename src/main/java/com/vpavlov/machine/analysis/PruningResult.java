@@ -0,0 +1,17 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+
+import java.util.Set;
+
+/**
+ * Result of the machine pruning
+ *
+ * @param machine     pruned machine equivalent to the source machine
+ * @param unreachable titles of the removed states unreachable from the start state
+ * @param dead        titles of the reachable states from which no final state is reachable, all collapsed into the sink
+ * @param sink        title of the single dead state of the pruned machine or null if there are no dead states
+ * @author vpavlov
+ */
+public record PruningResult(Machine machine, Set<String> unreachable, Set<String> dead, String sink) {
+}
@@ -0,0 +1,168 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sampler of words of a fixed length accepted by a compiled machine, uniformly at random.<br>
+ * Counts of the accepted words per state and remaining length are precomputed once
+ * (every length layer is scaled to its maximum, so long words do not overflow),
+ * a sample then takes one weighted choice of the symbol per position.
+ * Uniformity is exact up to the double precision of the counts.<br>
+ * The sampler is immutable and can be shared between threads, every thread should use its own random generator.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class UniformWordSampler {
+
+    /**
+     * The machine
+     */
+    private final CompiledMachine machine;
+
+    /**
+     * Length of the sampled words
+     */
+    private final int length;
+
+    /**
+     * Count of the states
+     */
+    private final int count;
+
+    /**
+     * Count of the alphabet symbols
+     */
+    private final int width;
+
+    /**
+     * Scaled counts of the accepted words [remaining length * count + state] -> count
+     */
+    private final double[] counts;
+
+    /**
+     * Constructor
+     *
+     * @param machine the machine
+     * @param length  length of the sampled words
+     * @throws IllegalArgumentException if the length is negative
+     * @throws IllegalStateException    if the start state of the machine is not set
+     */
+    public UniformWordSampler(Machine machine, int length) throws IllegalArgumentException, IllegalStateException {
+        this(CompiledMachine.compile(machine), length);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine the machine
+     * @param length  length of the sampled words
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public UniformWordSampler(CompiledMachine machine, int length) throws IllegalArgumentException {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative.");
+        }
+        this.machine = machine;
+        this.length = length;
+        this.count = machine.getStatesCount();
+        this.width = machine.getSymbolsCount();
+        this.counts = new double[Math.multiplyExact(length + 1, count)];
+        for (int state = 0; state < count; ++state) {
+            counts[state] = machine.isFinalState(state) ? 1 : 0;
+        }
+        for (int remaining = 1; remaining <= length; ++remaining) {
+            int previous = (remaining - 1) * count;
+            int layer = remaining * count;
+            double max = 0;
+            for (int state = 0; state < count; ++state) {
+                double sum = 0;
+                for (int symbol = 0; symbol < width; ++symbol) {
+                    sum += counts[previous + machine.step(state, symbol)];
+                }
+                counts[layer + state] = sum;
+                max = Math.max(max, sum);
+            }
+            if (max > 0) {
+                for (int state = 0; state < count; ++state) {
+                    counts[layer + state] /= max;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if the machine accepts no word of the sampled length
+     *
+     * @return true if there is nothing to sample, else false
+     */
+    public boolean isEmpty() {
+        return counts[length * count + machine.getStartState()] == 0;
+    }
+
+    /**
+     * Samples an accepted word into the specified buffer
+     *
+     * @param random the random generator
+     * @param buffer the buffer for the symbol codes of the word, at least of the sampled length
+     * @throws IllegalArgumentException if the buffer is too short
+     * @throws IllegalStateException    if the machine accepts no word of the sampled length
+     */
+    public void sample(RandomGenerator random, int[] buffer) throws IllegalArgumentException, IllegalStateException {
+        if (buffer.length < length) {
+            throw new IllegalArgumentException("The buffer is shorter than the sampled length.");
+        }
+        if (isEmpty()) {
+            throw new IllegalStateException("The machine accepts no word of the sampled length.");
+        }
+        int state = machine.getStartState();
+        for (int position = 0; position < length; ++position) {
+            int layer = (length - position - 1) * count;
+            double total = 0;
+            for (int symbol = 0; symbol < width; ++symbol) {
+                total += counts[layer + machine.step(state, symbol)];
+            }
+            double target = random.nextDouble() * total;
+            int chosen = -1;
+            for (int symbol = 0; symbol < width; ++symbol) {
+                double weight = counts[layer + machine.step(state, symbol)];
+                if (weight > 0) {
+                    chosen = symbol;
+                    target -= weight;
+                    if (target < 0) {
+                        break;
+                    }
+                }
+            }
+            buffer[position] = chosen;
+            state = machine.step(state, chosen);
+        }
+    }
+
+    /**
+     * Samples an accepted word
+     *
+     * @param random the random generator
+     * @return symbols of the sampled word
+     * @throws IllegalStateException if the machine accepts no word of the sampled length
+     */
+    public List<String> sample(RandomGenerator random) throws IllegalStateException {
+        int[] buffer = new int[length];
+        sample(random, buffer);
+        return machine.getAlphabet().decode(buffer);
+    }
+
+    /**
+     * Length of the sampled words getter
+     *
+     * @return length of the sampled words
+     */
+    public int getLength() {
+        return length;
+    }
+}
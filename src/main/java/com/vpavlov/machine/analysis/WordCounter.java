@@ -0,0 +1,599 @@
+package com.vpavlov.machine.analysis;
+
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Word counter static class. Counts words of a given length accepted by a compiled machine,
+ * exactly or modulo a number, and estimates the growth rate of the counts.<br>
+ * Moderate lengths are counted by dynamic programming over the transition table
+ * (in parallel across states for large machines), very large lengths of machines with at most 256 states
+ * by exponentiation of the transition count matrix by squaring. For larger machines the time grows linearly
+ * with the length, so lengths far beyond 10^9 can not be counted in practice.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public final class WordCounter {
+
+    /**
+     * Minimal count of the states for which the dynamic program runs in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Maximal count of the states for which the matrix exponentiation is used
+     */
+    private static final int MATRIX_MAX_STATES = 256;
+
+    /**
+     * Mask of the lower half of long
+     */
+    private static final long LOW_HALF = 0xFFFFFFFFL;
+
+    /**
+     * Maximal count of the power iterations of the growth rate estimation of a component
+     */
+    private static final int GROWTH_ITERATIONS = 100_000;
+
+    /**
+     * Precision of the growth rate estimation
+     */
+    private static final double GROWTH_PRECISION = 1e-12;
+
+    /**
+     * Private empty constructor
+     */
+    private WordCounter() {
+    }
+
+    /**
+     * Counts words of the specified length accepted by the machine exactly
+     *
+     * @param machine the machine
+     * @param length  the word length
+     * @return count of the accepted words of the length
+     * @throws IllegalArgumentException if the length is negative
+     * @throws IllegalStateException    if the start state of the machine is not set
+     */
+    public static BigInteger count(Machine machine, int length) throws IllegalArgumentException, IllegalStateException {
+        return count(CompiledMachine.compile(machine), length);
+    }
+
+    /**
+     * Counts words of the specified length accepted by the machine modulo the specified number
+     *
+     * @param machine the machine
+     * @param length  the word length
+     * @param modulus the modulus, at most 2^62
+     * @return count of the accepted words of the length modulo the modulus
+     * @throws IllegalArgumentException if the length is negative or the modulus is out of range
+     * @throws IllegalStateException    if the start state of the machine is not set
+     */
+    public static long countModulo(Machine machine, long length, long modulus) throws IllegalArgumentException, IllegalStateException {
+        return countModulo(CompiledMachine.compile(machine), length, modulus);
+    }
+
+    /**
+     * Counts accepted words of the specified length exactly
+     *
+     * @param machine the machine
+     * @param length  the word length
+     * @return count of the accepted words of the length
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public static BigInteger count(CompiledMachine machine, int length) throws IllegalArgumentException {
+        checkLength(length);
+        int count = machine.getStatesCount();
+        if (useMatrix(machine, length)) {
+            BigInteger[] vector = new BigInteger[count];
+            for (int state = 0; state < count; ++state) {
+                vector[state] = machine.isFinalState(state) ? BigInteger.ONE : BigInteger.ZERO;
+            }
+            BigInteger[][] power = toBigMatrix(transitionCounts(machine));
+            for (long exponent = length; exponent > 0; exponent >>>= 1) {
+                if ((exponent & 1) != 0) {
+                    vector = multiply(power, vector);
+                }
+                if (exponent > 1) {
+                    power = multiply(power, power);
+                }
+            }
+            return vector[machine.getStartState()];
+        }
+
+        BigInteger[] current = new BigInteger[count];
+        BigInteger[] next = new BigInteger[count];
+        for (int state = 0; state < count; ++state) {
+            current[state] = machine.isFinalState(state) ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        int width = machine.getSymbolsCount();
+        for (int i = 0; i < length; ++i) {
+            BigInteger[] source = current;
+            BigInteger[] target = next;
+            states(count).forEach(state -> {
+                BigInteger sum = BigInteger.ZERO;
+                for (int symbol = 0; symbol < width; ++symbol) {
+                    sum = sum.add(source[machine.step(state, symbol)]);
+                }
+                target[state] = sum;
+            });
+            next = current;
+            current = target;
+        }
+
+        return current[machine.getStartState()];
+    }
+
+    /**
+     * Counts accepted words of the specified length modulo the specified number.
+     * For machines with at most 256 states any length up to {@link Long#MAX_VALUE} is counted in time logarithmic
+     * in the length with any modulus. For larger machines the time is linear in the length.
+     *
+     * @param machine the machine
+     * @param length  the word length
+     * @param modulus the modulus, at most 2^62
+     * @return count of the accepted words of the length modulo the modulus
+     * @throws IllegalArgumentException if the length is negative or the modulus is out of range
+     */
+    public static long countModulo(CompiledMachine machine, long length, long modulus) throws IllegalArgumentException {
+        checkLength(length);
+        if (modulus < 1 || modulus > 1L << 62) {
+            throw new IllegalArgumentException("The modulus must be in range [1, 2^62].");
+        }
+        int count = machine.getStatesCount();
+        long[] vector = new long[count];
+        for (int state = 0; state < count; ++state) {
+            vector[state] = machine.isFinalState(state) ? 1 % modulus : 0;
+        }
+        if (useMatrix(machine, length)) {
+            long[][] power = transitionCounts(machine);
+            for (long[] row : power) {
+                for (int i = 0; i < row.length; ++i) {
+                    row[i] %= modulus;
+                }
+            }
+            for (long exponent = length; exponent > 0; exponent >>>= 1) {
+                if ((exponent & 1) != 0) {
+                    vector = multiply(power, vector, modulus);
+                }
+                if (exponent > 1) {
+                    power = multiply(power, power, modulus);
+                }
+            }
+            return vector[machine.getStartState()];
+        }
+
+        //only additions, the sums of values below 2^62 do not overflow
+        long[] current = vector;
+        long[] next = new long[count];
+        int width = machine.getSymbolsCount();
+        for (long i = 0; i < length; ++i) {
+            long[] source = current;
+            long[] target = next;
+            states(count).forEach(state -> {
+                long sum = 0;
+                for (int symbol = 0; symbol < width; ++symbol) {
+                    sum += source[machine.step(state, symbol)];
+                    if (sum >= modulus) {
+                        sum -= modulus;
+                    }
+                }
+                target[state] = sum;
+            });
+            next = current;
+            current = target;
+        }
+
+        return current[machine.getStartState()];
+    }
+
+    /**
+     * Estimates the growth rate of the accepted word counts, i.e. the limit of count(n)^(1/n).
+     * It is the spectral radius of the transition count matrix restricted to the states which are reachable
+     * from the start state and from which a final state is reachable. The radius is the maximum over the strongly
+     * connected components of that subgraph, so it is exactly 0 if the subgraph has no cycle, and otherwise
+     * it is estimated by the power iteration on every component which contains a cycle.
+     *
+     * @param machine the machine
+     * @return estimated growth rate, 0 for finite languages
+     */
+    public static double growthRate(CompiledMachine machine) {
+        int count = machine.getStatesCount();
+        int width = machine.getSymbolsCount();
+        BitSet useful = reachableStates(machine);
+        for (int state = useful.nextSetBit(0); state >= 0; state = useful.nextSetBit(state + 1)) {
+            if (machine.isRejectingSink(state)) {
+                useful.clear(state);
+            }
+        }
+
+        //iterative Tarjan's algorithm over the useful states
+        int[] indexes = new int[count];
+        int[] lowLinks = new int[count];
+        int[] components = new int[count];
+        boolean[] onStack = new boolean[count];
+        int[] stack = new int[count];
+        int[] callStates = new int[count];
+        int[] callSymbols = new int[count];
+        double[] current = new double[count];
+        double[] next = new double[count];
+        Arrays.fill(indexes, -1);
+        Arrays.fill(components, -1);
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentsCount = 0;
+        double rate = 0;
+
+        for (int root = useful.nextSetBit(0); root >= 0; root = useful.nextSetBit(root + 1)) {
+            if (indexes[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStates[0] = root;
+            callSymbols[0] = 0;
+            indexes[root] = lowLinks[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int state = callStates[depth];
+                if (callSymbols[depth] < width) {
+                    int successor = machine.step(state, callSymbols[depth]++);
+                    if (!useful.get(successor)) {
+                        continue;
+                    }
+                    if (indexes[successor] == -1) {
+                        indexes[successor] = lowLinks[successor] = nextIndex++;
+                        stack[stackSize++] = successor;
+                        onStack[successor] = true;
+                        ++depth;
+                        callStates[depth] = successor;
+                        callSymbols[depth] = 0;
+                    } else if (onStack[successor]) {
+                        lowLinks[state] = Math.min(lowLinks[state], indexes[successor]);
+                    }
+                    continue;
+                }
+
+                if (lowLinks[state] == indexes[state]) {
+                    int component = componentsCount++;
+                    int bottom = stackSize;
+                    do {
+                        --bottom;
+                        onStack[stack[bottom]] = false;
+                        components[stack[bottom]] = component;
+                    } while (stack[bottom] != state);
+                    rate = Math.max(rate, componentGrowthRate(machine, stack, bottom, stackSize, component, components,
+                            current, next));
+                    stackSize = bottom;
+                }
+                --depth;
+                if (depth >= 0) {
+                    int parent = callStates[depth];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[state]);
+                }
+            }
+        }
+
+        return rate;
+    }
+
+    /**
+     * Estimates the spectral radius of the transition count matrix restricted to the completed component.
+     * Iterates (M + I), which has the same dominant eigenvector and is primitive on a component with a cycle,
+     * until the minimal and maximal ratios of the iterated vector components, which bound the radius of (M + I)
+     * from both sides, differ by less than {@link #GROWTH_PRECISION}.
+     *
+     * @param machine    the machine
+     * @param stack      Tarjan's stack
+     * @param from       index of the first component state on the stack (inclusive)
+     * @param to         index of the last component state on the stack (exclusive)
+     * @param component  the component index
+     * @param components component indexes of the states, -1 for the states which are not useful
+     * @param current    power iteration vector
+     * @param next       power iteration buffer
+     * @return estimated spectral radius, 0 if the component has no cycle
+     */
+    private static double componentGrowthRate(CompiledMachine machine, int[] stack, int from, int to, int component,
+                                              int[] components, double[] current, double[] next) {
+        int width = machine.getSymbolsCount();
+        if (to - from == 1) {
+            int state = stack[from];
+            int loops = 0;
+            for (int symbol = 0; symbol < width; ++symbol) {
+                if (machine.step(state, symbol) == state) {
+                    ++loops;
+                }
+            }
+            return loops;
+        }
+
+        for (int i = from; i < to; ++i) {
+            current[stack[i]] = 1;
+        }
+        double lower = 0;
+        double upper = Double.MAX_VALUE;
+        for (int iteration = 0; iteration < GROWTH_ITERATIONS && upper - lower >= GROWTH_PRECISION * upper; ++iteration) {
+            double max = 0;
+            lower = Double.MAX_VALUE;
+            upper = 0;
+            for (int i = from; i < to; ++i) {
+                int state = stack[i];
+                double sum = current[state];
+                for (int symbol = 0; symbol < width; ++symbol) {
+                    int successor = machine.step(state, symbol);
+                    if (components[successor] == component) {
+                        sum += current[successor];
+                    }
+                }
+                next[state] = sum;
+                max = Math.max(max, sum);
+                lower = Math.min(lower, sum / current[state]);
+                upper = Math.max(upper, sum / current[state]);
+            }
+            for (int i = from; i < to; ++i) {
+                int state = stack[i];
+                current[state] = next[state] / max;
+            }
+        }
+
+        return (lower + upper) / 2 - 1;
+    }
+
+    /**
+     * Finds states reachable from the start state
+     *
+     * @param machine the machine
+     * @return numbers of the reachable states
+     */
+    private static BitSet reachableStates(CompiledMachine machine) {
+        int width = machine.getSymbolsCount();
+        BitSet visited = new BitSet(machine.getStatesCount());
+        int[] queue = new int[machine.getStatesCount()];
+        int tail = 0;
+        queue[tail++] = machine.getStartState();
+        visited.set(machine.getStartState());
+        for (int head = 0; head < tail; ++head) {
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int next = machine.step(queue[head], symbol);
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * Check if the matrix exponentiation is cheaper than the dynamic program
+     *
+     * @param machine the machine
+     * @param length  the word length
+     * @return true if the matrix exponentiation should be used, else false
+     */
+    private static boolean useMatrix(CompiledMachine machine, long length) {
+        long count = machine.getStatesCount();
+        if (count > MATRIX_MAX_STATES || length < 2) {
+            return false;
+        }
+        int squarings = 64 - Long.numberOfLeadingZeros(length);
+        return count * count * squarings < length * machine.getSymbolsCount();
+    }
+
+    /**
+     * Stream of the state numbers, parallel for large machines
+     *
+     * @param count count of the states
+     * @return stream of the state numbers
+     */
+    private static IntStream states(int count) {
+        IntStream states = IntStream.range(0, count);
+        return count >= PARALLEL_THRESHOLD ? states.parallel() : states;
+    }
+
+    /**
+     * Creates the transition count matrix [from][to] -> count of the symbols
+     *
+     * @param machine the machine
+     * @return transition count matrix
+     */
+    private static long[][] transitionCounts(CompiledMachine machine) {
+        int count = machine.getStatesCount();
+        long[][] matrix = new long[count][count];
+        for (int state = 0; state < count; ++state) {
+            for (int symbol = 0; symbol < machine.getSymbolsCount(); ++symbol) {
+                ++matrix[state][machine.step(state, symbol)];
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Converts the matrix to a BigInteger matrix
+     *
+     * @param matrix the matrix
+     * @return BigInteger matrix
+     */
+    private static BigInteger[][] toBigMatrix(long[][] matrix) {
+        BigInteger[][] result = new BigInteger[matrix.length][];
+        for (int i = 0; i < matrix.length; ++i) {
+            result[i] = Arrays.stream(matrix[i]).mapToObj(BigInteger::valueOf).toArray(BigInteger[]::new);
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies the matrices modulo the modulus. Every entry is accumulated as a 128-bit sum of the products
+     * and reduced once.
+     *
+     * @param left    the left matrix of the residues
+     * @param right   the right matrix of the residues
+     * @param modulus the modulus, at most 2^62
+     * @return product of the matrices
+     */
+    private static long[][] multiply(long[][] left, long[][] right, long modulus) {
+        int size = left.length;
+        long[][] columns = new long[size][size];
+        for (int k = 0; k < size; ++k) {
+            for (int j = 0; j < size; ++j) {
+                columns[j][k] = right[k][j];
+            }
+        }
+        long[][] result = new long[size][];
+        for (int i = 0; i < size; ++i) {
+            result[i] = multiply(columns, left[i], modulus);
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies the matrix and the vector modulo the modulus. Every entry is accumulated as a 128-bit sum
+     * of the products and reduced once.
+     *
+     * @param matrix  the matrix of the residues
+     * @param vector  the vector of the residues
+     * @param modulus the modulus, at most 2^62
+     * @return product of the matrix and the vector
+     */
+    private static long[] multiply(long[][] matrix, long[] vector, long modulus) {
+        long[] result = new long[matrix.length];
+        for (int i = 0; i < matrix.length; ++i) {
+            long[] row = matrix[i];
+            //the high half is kept reduced, the products are below modulus^2, so their high halves are below modulus
+            long high = 0;
+            long low = 0;
+            for (int j = 0; j < vector.length; ++j) {
+                long productLow = row[j] * vector[j];
+                long productHigh = Math.multiplyHigh(row[j], vector[j]);
+                low += productLow;
+                if (Long.compareUnsigned(low, productLow) < 0) {
+                    ++productHigh;
+                }
+                high += productHigh;
+                if (high >= modulus) {
+                    high -= modulus;
+                }
+            }
+            result[i] = remainder(high, low, modulus);
+        }
+
+        return result;
+    }
+
+    /**
+     * Divides the unsigned 128-bit number by the modulus with two 64-by-32-bit steps
+     * of the long division (Knuth's algorithm D)
+     *
+     * @param high    high half of the number, below the modulus
+     * @param low     low half of the number
+     * @param modulus the modulus, at most 2^62
+     * @return remainder of the number divided by the modulus
+     */
+    private static long remainder(long high, long low, long modulus) {
+        //normalization, the modulus is at most 2^62, so the shift is positive
+        int shift = Long.numberOfLeadingZeros(modulus);
+        long divisor = modulus << shift;
+        long numerator = high << shift | low >>> (Long.SIZE - shift);
+        long digits = low << shift;
+        numerator = divisionStep(numerator, digits >>> 32, divisor);
+        numerator = divisionStep(numerator, digits & LOW_HALF, divisor);
+
+        return numerator >>> shift;
+    }
+
+    /**
+     * One step of the long division of the normalized numerator by the normalized divisor
+     *
+     * @param remainder remainder of the previous step, below the divisor
+     * @param digit     next 32-bit digit of the numerator
+     * @param divisor   the normalized divisor, its highest bit is set
+     * @return remainder of the remainder and the digit divided by the divisor
+     */
+    private static long divisionStep(long remainder, long digit, long divisor) {
+        long divisorHigh = divisor >>> 32;
+        long divisorLow = divisor & LOW_HALF;
+        long quotient = Long.divideUnsigned(remainder, divisorHigh);
+        long remainderHigh = remainder - quotient * divisorHigh;
+        while (quotient > LOW_HALF || Long.compareUnsigned(quotient * divisorLow, remainderHigh << 32 | digit) > 0) {
+            --quotient;
+            remainderHigh += divisorHigh;
+            if (remainderHigh > LOW_HALF) {
+                break;
+            }
+        }
+
+        return (remainder << 32 | digit) - quotient * divisor;
+    }
+
+    /**
+     * Multiplies the matrices
+     *
+     * @param left  the left matrix
+     * @param right the right matrix
+     * @return product of the matrices
+     */
+    private static BigInteger[][] multiply(BigInteger[][] left, BigInteger[][] right) {
+        int size = left.length;
+        BigInteger[][] result = new BigInteger[size][size];
+        for (BigInteger[] row : result) {
+            Arrays.fill(row, BigInteger.ZERO);
+        }
+        for (int i = 0; i < size; ++i) {
+            for (int k = 0; k < size; ++k) {
+                BigInteger value = left[i][k];
+                if (value.signum() == 0) {
+                    continue;
+                }
+                for (int j = 0; j < size; ++j) {
+                    result[i][j] = result[i][j].add(value.multiply(right[k][j]));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies the matrix and the vector
+     *
+     * @param matrix the matrix
+     * @param vector the vector
+     * @return product of the matrix and the vector
+     */
+    private static BigInteger[] multiply(BigInteger[][] matrix, BigInteger[] vector) {
+        BigInteger[] result = new BigInteger[vector.length];
+        for (int i = 0; i < vector.length; ++i) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int j = 0; j < vector.length; ++j) {
+                sum = sum.add(matrix[i][j].multiply(vector[j]));
+            }
+            result[i] = sum;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks that the length is not negative
+     *
+     * @param length the word length
+     * @throws IllegalArgumentException if the length is negative
+     */
+    private static void checkLength(long length) throws IllegalArgumentException {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative.");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a compiled machine over many independent inputs using all cores.
+ * Inputs are split between tasks by their total length, so a mix of very short
+ * and very long inputs is still balanced across the pool.<br>
+ * Optionally every task advances several inputs together in one loop, so the transition table loads
+ * of the independent inputs overlap. It pays off when the table does not fit into the processor caches,
+ * smaller tables are always run one input at a time.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class BatchRunner {
+
+    /**
+     * Default maximal weight (total input length) of one task
+     */
+    public static final int DEFAULT_TASK_WEIGHT = 1 << 16;
+
+    /**
+     * Count of the inputs advanced together in the interleaved mode
+     */
+    public static final int INTERLEAVED_STREAMS = 8;
+
+    /**
+     * Minimal transition table size in bytes for which the interleaved mode is used
+     */
+    static final int INTERLEAVE_MIN_TABLE_BYTES = 256 * 1024;
+
+    /**
+     * Count of the results in one result word
+     */
+    private static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * The machine to run
+     */
+    private final CompiledMachine machine;
+
+    /**
+     * Pool to run tasks in
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Maximal weight of one task
+     */
+    private final int taskWeight;
+
+    /**
+     * True if the inputs are advanced together
+     */
+    private final boolean interleaved;
+
+    /**
+     * Constructor. Uses the common pool.
+     *
+     * @param machine the machine to run
+     */
+    public BatchRunner(CompiledMachine machine) {
+        this(machine, ForkJoinPool.commonPool(), DEFAULT_TASK_WEIGHT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine    the machine to run
+     * @param pool       pool to run tasks in
+     * @param taskWeight maximal weight (total input length) of one task
+     */
+    public BatchRunner(CompiledMachine machine, ForkJoinPool pool, int taskWeight) {
+        this(machine, pool, taskWeight, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine     the machine to run
+     * @param pool        pool to run tasks in
+     * @param taskWeight  maximal weight (total input length) of one task
+     * @param interleaved true if every task should advance {@link #INTERLEAVED_STREAMS} inputs together,
+     *                    ignored for the machines with small transition tables
+     */
+    public BatchRunner(CompiledMachine machine, ForkJoinPool pool, int taskWeight, boolean interleaved) {
+        this.machine = machine;
+        this.pool = pool;
+        this.taskWeight = taskWeight;
+        this.interleaved = interleaved && (long) machine.getTable().length * Integer.BYTES >= INTERLEAVE_MIN_TABLE_BYTES;
+    }
+
+    /**
+     * Check if the inputs are advanced together
+     *
+     * @return true if the interleaved mode is used, else false
+     */
+    public boolean isInterleaved() {
+        return interleaved;
+    }
+
+    /**
+     * Runs the machine over all inputs. Every char of an input is a single symbol.
+     *
+     * @param inputs the inputs
+     * @return bit set with bits of the accepted inputs set
+     */
+    public BitSet acceptAll(List<? extends CharSequence> inputs) {
+        CharSequence[] array = inputs.toArray(new CharSequence[0]);
+        long[] weights = new long[array.length + 1];
+        for (int i = 0; i < array.length; ++i) {
+            //every input costs at least one step
+            weights[i + 1] = weights[i] + array[i].length() + 1;
+        }
+        long[] words = new long[(array.length + WORD_SIZE - 1) / WORD_SIZE];
+        if (array.length > 0) {
+            pool.invoke(new BatchTask(array, weights, words, 0, array.length));
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Task running the machine over the range of inputs.
+     * Every task owns whole result words, so tasks never write into the same word.
+     */
+    @SuppressWarnings("serial")
+    private final class BatchTask extends RecursiveAction {
+
+        /**
+         * All inputs
+         */
+        private final CharSequence[] inputs;
+
+        /**
+         * Prefix sums of the input weights
+         */
+        private final long[] weights;
+
+        /**
+         * Result words
+         */
+        private final long[] words;
+
+        /**
+         * Index of the first input of the range (inclusive), multiple of the word size
+         */
+        private final int from;
+
+        /**
+         * Index of the last input of the range (exclusive)
+         */
+        private final int to;
+
+        /**
+         * Constructor
+         *
+         * @param inputs  all inputs
+         * @param weights prefix sums of the input weights
+         * @param words   result words
+         * @param from    index of the first input of the range (inclusive), multiple of the word size
+         * @param to      index of the last input of the range (exclusive)
+         */
+        private BatchTask(CharSequence[] inputs, long[] weights, long[] words, int from, int to) {
+            this.inputs = inputs;
+            this.weights = weights;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > WORD_SIZE && weights[to] - weights[from] > taskWeight) {
+                int middle = split();
+                BatchTask right = new BatchTask(inputs, weights, words, middle, to);
+                right.fork();
+                new BatchTask(inputs, weights, words, from, middle).compute();
+                right.join();
+                return;
+            }
+            if (interleaved) {
+                acceptInterleaved();
+                return;
+            }
+            for (int i = from; i < to; ++i) {
+                if (machine.accepts(inputs[i])) {
+                    words[i / WORD_SIZE] |= 1L << i;
+                }
+            }
+        }
+
+        /**
+         * Runs the machine over the range of inputs advancing several inputs together.
+         * Every stream steps once per round; when its input ends, the stream takes the next input of the range.
+         * Runs do not stop early in sink states.
+         */
+        private void acceptInterleaved() {
+            int[] table = machine.getTable();
+            int width = machine.getSymbolsCount();
+            Alphabet alphabet = machine.getAlphabet();
+            int[] indexes = new int[INTERLEAVED_STREAMS];
+            int[] states = new int[INTERLEAVED_STREAMS];
+            int[] positions = new int[INTERLEAVED_STREAMS];
+            int next = from;
+            int active = 0;
+            while (active < INTERLEAVED_STREAMS && next < to) {
+                indexes[active] = next++;
+                states[active] = machine.getStartState();
+                ++active;
+            }
+
+            while (active > 0) {
+                for (int stream = 0; stream < active; ++stream) {
+                    CharSequence input = inputs[indexes[stream]];
+                    int position = positions[stream];
+                    if (position < input.length()) {
+                        int code = alphabet.encode(input.charAt(position));
+                        if (code != Alphabet.UNKNOWN) {
+                            states[stream] = table[states[stream] * width + code];
+                            positions[stream] = position + 1;
+                            continue;
+                        }
+                    }
+
+                    //the input ended or contains unknown symbol
+                    int index = indexes[stream];
+                    if (position == input.length() && machine.isFinalState(states[stream])) {
+                        words[index / WORD_SIZE] |= 1L << index;
+                    }
+                    if (next < to) {
+                        indexes[stream] = next++;
+                        states[stream] = machine.getStartState();
+                        positions[stream] = 0;
+                    } else {
+                        --active;
+                        indexes[stream] = indexes[active];
+                        states[stream] = states[active];
+                        positions[stream] = positions[active];
+                        //the moved stream has not stepped in this round yet
+                        --stream;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds the word boundary which splits the range into two halves of the nearest weight
+         *
+         * @return index of the first input of the right half
+         */
+        private int split() {
+            long half = weights[from] + (weights[to] - weights[from]) / 2;
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (weights[middle] < half) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int middle = (low + WORD_SIZE / 2) / WORD_SIZE * WORD_SIZE;
+
+            return Math.min(Math.max(middle, from + WORD_SIZE), (to - 1) / WORD_SIZE * WORD_SIZE);
+        }
+    }
+}
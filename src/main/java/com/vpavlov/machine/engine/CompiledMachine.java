@@ -0,0 +1,709 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.State;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable compiled form of a deterministic state machine.
+ * Transitions are stored in a flat table indexed by state number and alphabet symbol code,
+ * final states are stored in a bit set.<br>
+ * Missing transitions of the source machine lead to an implicit non-final sink state,
+ * which has no title.<br>
+ * Instances are immutable snapshots and can be shared between threads,
+ * the state of a single interactive run is held by {@link MachineCursor}.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see com.vpavlov.machine.Machine
+ */
+public final class CompiledMachine implements MachineEngine {
+
+    /**
+     * Mark of the missing transition in the tables passed to {@link #fromTable(Alphabet, int[], int, BitSet, String[])}
+     */
+    public static final int NO_TRANSITION = -1;
+
+    /**
+     * Count of the possible byte values
+     */
+    private static final int BYTE_VALUES = 256;
+
+    /**
+     * Flag of the state which loops on most symbols and leaves only on one or two,
+     * runs over raw input bytes skip the looping symbols without table lookups
+     */
+    private static final byte SELF_LOOP_SKIP = 4;
+
+    /**
+     * Flags of the sink states
+     */
+    private static final byte SINK_FLAGS = SinkAnalysis.REJECTING_SINK | SinkAnalysis.ACCEPTING_SINK;
+
+    /**
+     * Maximal count of the symbols leaving a state with {@link #SELF_LOOP_SKIP} flag
+     */
+    private static final int SKIP_MAX_ESCAPES = 2;
+
+    /**
+     * Minimal count of the symbols looping in a state with {@link #SELF_LOOP_SKIP} flag
+     */
+    private static final int SKIP_MIN_LOOPS = 3;
+
+    /**
+     * Flat transition table [state * symbolsCount + symbol code] -> next state
+     */
+    private final int[] table;
+
+    /**
+     * Count of the alphabet symbols (width of the transition table row)
+     */
+    private final int symbolsCount;
+
+    /**
+     * Count of the states including the implicit sink state
+     */
+    private final int statesCount;
+
+    /**
+     * Start state number
+     */
+    private final int startState;
+
+    /**
+     * Final states numbers
+     */
+    private final BitSet finalStates;
+
+    /**
+     * State titles by state number (null for the implicit sink state)
+     */
+    private final String[] titles;
+
+    /**
+     * Alphabet of the machine
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Symbol codes of the raw input bytes [byte & 0xFF] -> code
+     */
+    private final int[] byteCodes;
+
+    /**
+     * Flags of the states: sink flags and {@link #SELF_LOOP_SKIP}
+     *
+     * @see SinkAnalysis
+     */
+    private final byte[] stateFlags;
+
+    /**
+     * Bit masks of the self-loop symbol codes of the states with {@link #SELF_LOOP_SKIP} flag,
+     * null for alphabets over 64 symbols and for machines without such states
+     */
+    private final long[] selfLoops;
+
+    /**
+     * Bits of the symbol codes of the raw input bytes [byte & 0xFF] -> 1 << code, 0 for unknown symbols
+     */
+    private final long[] byteCodeBits;
+
+    /**
+     * Constructor
+     *
+     * @param table       flat transition table
+     * @param alphabet    alphabet of the machine
+     * @param startState  start state number
+     * @param finalStates final states numbers
+     * @param titles      state titles by state number
+     */
+    private CompiledMachine(int[] table, Alphabet alphabet, int startState, BitSet finalStates, String[] titles) {
+        this.table = table;
+        this.alphabet = alphabet;
+        this.symbolsCount = alphabet.size();
+        this.statesCount = titles.length;
+        this.startState = startState;
+        this.finalStates = finalStates;
+        this.titles = titles;
+        this.byteCodes = new int[BYTE_VALUES];
+        for (int i = 0; i < BYTE_VALUES; ++i) {
+            byteCodes[i] = alphabet.encode((char) i);
+        }
+        boolean[] accepting = new boolean[statesCount];
+        for (int state = finalStates.nextSetBit(0); state >= 0; state = finalStates.nextSetBit(state + 1)) {
+            accepting[state] = true;
+        }
+        this.stateFlags = SinkAnalysis.analyze(statesCount, symbolsCount, table, accepting);
+        this.byteCodeBits = new long[BYTE_VALUES];
+        this.selfLoops = symbolsCount <= Long.SIZE ? findSelfLoops() : null;
+    }
+
+    /**
+     * Finds the states which leave on one or two symbols and loop on at least three symbols and at least twice
+     * as many symbols as they leave on. Marks them with {@link #SELF_LOOP_SKIP} flag.
+     *
+     * @return bit masks of the self-loop symbol codes of the marked states or null if no state is marked
+     */
+    private long[] findSelfLoops() {
+        for (int i = 0; i < BYTE_VALUES; ++i) {
+            byteCodeBits[i] = byteCodes[i] == Alphabet.UNKNOWN ? 0 : 1L << byteCodes[i];
+        }
+        long[] selfLoops = new long[statesCount];
+        boolean marked = false;
+        for (int state = 0; state < statesCount; ++state) {
+            if ((stateFlags[state] & SINK_FLAGS) != 0) {
+                continue;
+            }
+            long loops = 0;
+            for (int symbol = 0; symbol < symbolsCount; ++symbol) {
+                if (table[state * symbolsCount + symbol] == state) {
+                    loops |= 1L << symbol;
+                }
+            }
+            int loopsCount = Long.bitCount(loops);
+            int escapes = symbolsCount - loopsCount;
+            if (escapes > 0 && escapes <= SKIP_MAX_ESCAPES
+                    && loopsCount >= SKIP_MIN_LOOPS && loopsCount >= 2 * escapes) {
+                selfLoops[state] = loops;
+                stateFlags[state] |= SELF_LOOP_SKIP;
+                marked = true;
+            }
+        }
+
+        return marked ? selfLoops : null;
+    }
+
+    /**
+     * Skips the input bytes on which the state loops
+     *
+     * @param state the state with {@link #SELF_LOOP_SKIP} flag
+     * @param input the input bytes
+     * @param from  position of the first byte to check
+     * @param end   position after the last byte to check
+     * @return position of the first byte on which the state does not loop or the end
+     */
+    private int skipSelfLoops(int state, byte[] input, int from, int end) {
+        long loops = selfLoops[state];
+        long[] byteCodeBits = this.byteCodeBits;
+        int i = from;
+        while (i < end && (byteCodeBits[input[i] & 0xFF] & loops) != 0) {
+            ++i;
+        }
+
+        return i;
+    }
+
+    /**
+     * Skips the buffer bytes on which the state loops
+     *
+     * @param state the state with {@link #SELF_LOOP_SKIP} flag
+     * @param input the buffer with input bytes
+     * @param from  position of the first byte to check
+     * @param end   position after the last byte to check
+     * @return position of the first byte on which the state does not loop or the end
+     */
+    private int skipSelfLoops(int state, ByteBuffer input, int from, int end) {
+        long loops = selfLoops[state];
+        long[] byteCodeBits = this.byteCodeBits;
+        int i = from;
+        while (i < end && (byteCodeBits[input.get(i) & 0xFF] & loops) != 0) {
+            ++i;
+        }
+
+        return i;
+    }
+
+    /**
+     * Compiles the specified machine
+     *
+     * @param machine the machine to compile
+     * @return compiled machine
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public static CompiledMachine compile(Machine machine) throws IllegalStateException {
+        if (!machine.isStartStateSet()) {
+            throw new IllegalStateException("The machine start state is not set.");
+        }
+
+        Alphabet alphabet = machine.getAlphabet();
+        int width = alphabet.size();
+
+        Map<State, Integer> numbers = new HashMap<>();
+        for (State state : machine.getStates()) {
+            numbers.put(state, numbers.size());
+        }
+        int count = numbers.size();
+        int[] table = new int[(count + 1) * width];
+        String[] titles = new String[count + 1];
+        BitSet finalStates = new BitSet(count);
+        String startTitle = machine.getStartState();
+        int start = -1;
+        boolean sinkUsed = false;
+
+        for (Map.Entry<State, Integer> entry : numbers.entrySet()) {
+            State state = entry.getKey();
+            int number = entry.getValue();
+            titles[number] = state.getTitle();
+            if (state.getTitle().equals(startTitle)) {
+                start = number;
+            }
+            if (machine.isFinalState(state.getTitle())) {
+                finalStates.set(number);
+            }
+            for (int symbol = 0; symbol < width; ++symbol) {
+                State next = state.getTransitionOut(symbol);
+                if (next == null) {
+                    table[number * width + symbol] = count;
+                    sinkUsed = true;
+                } else {
+                    table[number * width + symbol] = numbers.get(next);
+                }
+            }
+        }
+
+        if (sinkUsed) {
+            for (int symbol = 0; symbol < width; ++symbol) {
+                table[count * width + symbol] = count;
+            }
+        } else {
+            //complete machine, the sink state is not needed
+            int[] trimmed = new int[count * width];
+            System.arraycopy(table, 0, trimmed, 0, trimmed.length);
+            table = trimmed;
+            String[] trimmedTitles = new String[count];
+            System.arraycopy(titles, 0, trimmedTitles, 0, count);
+            titles = trimmedTitles;
+        }
+
+        return new CompiledMachine(table, alphabet, start, finalStates, titles);
+    }
+
+    /**
+     * Creates a compiled machine from the specified transition table. The table is validated in one pass and copied,
+     * missing transitions lead to the implicit sink state.
+     *
+     * @param alphabet    alphabet of the machine
+     * @param table       flat transition table [state * alphabet size + symbol code] -> next state or {@link #NO_TRANSITION}
+     * @param startState  start state number
+     * @param finalStates final states numbers
+     * @param titles      state titles by state number
+     * @return compiled machine
+     * @throws IllegalArgumentException if the table size, a transition, the start state or a final state is out of range
+     */
+    public static CompiledMachine fromTable(Alphabet alphabet, int[] table, int startState, BitSet finalStates, String[] titles) throws IllegalArgumentException {
+        int count = titles.length;
+        int width = alphabet.size();
+        if ((long) count * width != table.length) {
+            throw new IllegalArgumentException("The transition table size does not match the count of the states.");
+        }
+        if (startState < 0 || startState >= count) {
+            throw new IllegalArgumentException(String.format("The start state %d is out of range.", startState));
+        }
+        if (finalStates.length() > count) {
+            throw new IllegalArgumentException(String.format("The final state %d is out of range.", finalStates.length() - 1));
+        }
+
+        boolean sinkUsed = false;
+        for (int i = 0; i < table.length; ++i) {
+            int next = table[i];
+            if (next == NO_TRANSITION) {
+                sinkUsed = true;
+            } else if (next < 0 || next >= count) {
+                throw new IllegalArgumentException(String.format("The transition from state %d with symbol %d is out of range.", i / width, i % width));
+            }
+        }
+        if (!sinkUsed) {
+            return new CompiledMachine(table.clone(), alphabet, startState, (BitSet) finalStates.clone(), titles.clone());
+        }
+
+        int[] extended = new int[Math.addExact(table.length, width)];
+        for (int i = 0; i < table.length; ++i) {
+            extended[i] = table[i] == NO_TRANSITION ? count : table[i];
+        }
+        Arrays.fill(extended, table.length, extended.length, count);
+        return new CompiledMachine(extended, alphabet, startState, (BitSet) finalStates.clone(), Arrays.copyOf(titles, count + 1));
+    }
+
+    /**
+     * Creates a new run cursor over the machine
+     *
+     * @param logging true if the cursor should keep the transitions log
+     * @return new cursor in the start state
+     */
+    public MachineCursor newCursor(boolean logging) {
+        return new MachineCursor(this, logging);
+    }
+
+    /**
+     * Makes one transition
+     *
+     * @param state  the number of the state to make transition from
+     * @param symbol the code of the transition symbol
+     * @return the number of the next state
+     */
+    @Override
+    public int step(int state, int symbol) {
+        return table[state * symbolsCount + symbol];
+    }
+
+    /**
+     * Runs the machine from the start state over specified symbol codes
+     *
+     * @param input symbol codes of the input
+     * @return the number of the state in which the machine ends
+     * @see Alphabet#encodeInput(CharSequence)
+     */
+    public int finalState(int[] input) {
+        int[] table = this.table;
+        int width = this.symbolsCount;
+        int state = startState;
+        for (int code : input) {
+            state = table[state * width + code];
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified byte symbol codes
+     *
+     * @param input  byte symbol codes of the input
+     * @param offset offset of the first symbol code
+     * @param length count of the symbol codes to run
+     * @return the number of the state in which the machine ends
+     * @see Alphabet#encodeToBytes(CharSequence)
+     */
+    public int finalStateEncoded(byte[] input, int offset, int length) {
+        int[] table = this.table;
+        int width = this.symbolsCount;
+        int state = startState;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            state = table[state * width + input[i]];
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    @Override
+    public int finalState(CharSequence input) {
+        int[] table = this.table;
+        int width = this.symbolsCount;
+        Alphabet alphabet = this.alphabet;
+        int state = startState;
+        for (int i = 0, length = input.length(); i < length; ++i) {
+            int code = alphabet.encode(input.charAt(i));
+            if (code == Alphabet.UNKNOWN) {
+                return REJECTED;
+            }
+            state = table[state * width + code];
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    @Override
+    public int finalState(byte[] input, int offset, int length) {
+        int[] table = this.table;
+        int[] byteCodes = this.byteCodes;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        //loop invariant, the loop without the skip check is as fast as the plain table walk
+        boolean skip = selfLoops != null;
+        int state = startState;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            if (skip && (stateFlags[state] & SELF_LOOP_SKIP) != 0 && (i = skipSelfLoops(state, input, i, end)) == end) {
+                break;
+            }
+            int code = byteCodes[input[i] & 0xFF];
+            if (code == Alphabet.UNKNOWN) {
+                return REJECTED;
+            }
+            state = table[state * width + code];
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the specified state over the remaining raw bytes of the buffer.
+     * The buffer position is advanced past the consumed bytes; if an unknown symbol is found,
+     * the position is left at it. The run stops early after entering a rejecting sink state.
+     *
+     * @param state the number of the state to run from
+     * @param input the buffer with input bytes
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    public int run(int state, ByteBuffer input) {
+        int[] table = this.table;
+        int[] byteCodes = this.byteCodes;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        int limit = input.limit();
+        boolean skip = selfLoops != null;
+        for (int i = input.position(); i < limit; ++i) {
+            if (skip && (stateFlags[state] & SELF_LOOP_SKIP) != 0 && (i = skipSelfLoops(state, input, i, limit)) == limit) {
+                break;
+            }
+            int code = byteCodes[input.get(i) & 0xFF];
+            if (code == Alphabet.UNKNOWN) {
+                input.position(i);
+                return REJECTED;
+            }
+            state = table[state * width + code];
+            if ((stateFlags[state] & SinkAnalysis.REJECTING_SINK) != 0) {
+                input.position(i + 1);
+                return state;
+            }
+        }
+        input.position(limit);
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified symbol codes.
+     * The run stops early after entering a sink state.
+     *
+     * @param input symbol codes of the input
+     * @return true if the machine ends in a final state, else false
+     * @see Alphabet#encodeInput(CharSequence)
+     */
+    public boolean accepts(int[] input) {
+        int[] table = this.table;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        int state = startState;
+        for (int i = 0; i < input.length && (stateFlags[state] & SINK_FLAGS) == 0; ++i) {
+            state = table[state * width + input[i]];
+        }
+
+        return finalStates.get(state);
+    }
+
+    /**
+     * Runs the machine from the start state over specified byte symbol codes.
+     * The run stops early after entering a sink state.
+     *
+     * @param input  byte symbol codes of the input
+     * @param offset offset of the first symbol code
+     * @param length count of the symbol codes to run
+     * @return true if the machine ends in a final state, else false
+     * @see Alphabet#encodeToBytes(CharSequence)
+     */
+    public boolean acceptsEncoded(byte[] input, int offset, int length) {
+        int[] table = this.table;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        int state = startState;
+        for (int i = offset, end = offset + length; i < end && (stateFlags[state] & SINK_FLAGS) == 0; ++i) {
+            state = table[state * width + input[i]];
+        }
+
+        return finalStates.get(state);
+    }
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     * The run stops early after entering a rejecting sink state; in an accepting sink state the rest of the input
+     * is still checked for unknown symbols.
+     *
+     * @param input the input
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    @Override
+    public boolean accepts(CharSequence input) {
+        int[] table = this.table;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        Alphabet alphabet = this.alphabet;
+        int state = startState;
+        for (int i = 0, length = input.length(); i < length; ++i) {
+            if ((stateFlags[state] & SinkAnalysis.REJECTING_SINK) != 0) {
+                return false;
+            }
+            int code = alphabet.encode(input.charAt(i));
+            if (code == Alphabet.UNKNOWN) {
+                return false;
+            }
+            state = table[state * width + code];
+        }
+
+        return finalStates.get(state);
+    }
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     * The run stops early after entering a rejecting sink state; in an accepting sink state the rest of the input
+     * is still checked for unknown symbols.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    @Override
+    public boolean accepts(byte[] input, int offset, int length) {
+        int[] table = this.table;
+        int[] byteCodes = this.byteCodes;
+        byte[] stateFlags = this.stateFlags;
+        int width = this.symbolsCount;
+        int state = startState;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            int flags = stateFlags[state];
+            if (flags != 0) {
+                if ((flags & SinkAnalysis.REJECTING_SINK) != 0) {
+                    return false;
+                }
+                if ((flags & SELF_LOOP_SKIP) != 0 && (i = skipSelfLoops(state, input, i, end)) == end) {
+                    break;
+                }
+            }
+            int code = byteCodes[input[i] & 0xFF];
+            if (code == Alphabet.UNKNOWN) {
+                return false;
+            }
+            state = table[state * width + code];
+        }
+
+        return finalStates.get(state);
+    }
+
+    /**
+     * Runs the machine from the start state over specified symbols
+     *
+     * @param input symbols of the input
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    public boolean accepts(String... input) {
+        int state = startState;
+        for (String symbol : input) {
+            int code = alphabet.encode(symbol);
+            if (code == Alphabet.UNKNOWN) {
+                return false;
+            }
+            state = table[state * symbolsCount + code];
+        }
+
+        return finalStates.get(state);
+    }
+
+    /**
+     * Gets the symbol code of the specified raw input byte
+     *
+     * @param input the raw input byte
+     * @return the symbol code or {@link Alphabet#UNKNOWN} if the byte is not a symbol of the alphabet
+     */
+    public int byteCode(byte input) {
+        return byteCodes[input & 0xFF];
+    }
+
+    /**
+     * Check if the state with specified number is a final state
+     *
+     * @param state the state number or {@link #REJECTED}
+     * @return true if the state is a final state, else false
+     */
+    @Override
+    public boolean isFinalState(int state) {
+        return state != REJECTED && finalStates.get(state);
+    }
+
+    /**
+     * Check if acceptance is impossible from the state with specified number
+     *
+     * @param state the state number
+     * @return true if no final state is reachable from the state, else false
+     */
+    public boolean isRejectingSink(int state) {
+        return state != REJECTED && (stateFlags[state] & SinkAnalysis.REJECTING_SINK) != 0;
+    }
+
+    /**
+     * Check if every continuation from the state with specified number is accepted
+     *
+     * @param state the state number
+     * @return true if only final states are reachable from the state, else false
+     */
+    public boolean isAcceptingSink(int state) {
+        return state != REJECTED && (stateFlags[state] & SinkAnalysis.ACCEPTING_SINK) != 0;
+    }
+
+    /**
+     * Gets the title of the state with specified number
+     *
+     * @param state the state number
+     * @return the state title or null for the implicit sink state
+     */
+    public String stateTitle(int state) {
+        return titles[state];
+    }
+
+    /**
+     * Start state number getter
+     *
+     * @return the start state number
+     */
+    @Override
+    public int getStartState() {
+        return startState;
+    }
+
+    /**
+     * States count getter
+     *
+     * @return count of the states including the implicit sink state
+     */
+    @Override
+    public int getStatesCount() {
+        return statesCount;
+    }
+
+    /**
+     * Flat transition table getter
+     *
+     * @return flat transition table [state * symbolsCount + symbol code] -> next state, must not be modified
+     */
+    int[] getTable() {
+        return table;
+    }
+
+    /**
+     * The machine alphabet getter
+     *
+     * @return the machine alphabet
+     */
+    @Override
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Symbols count getter
+     *
+     * @return count of the alphabet symbols
+     */
+    @Override
+    public int getSymbolsCount() {
+        return symbolsCount;
+    }
+}
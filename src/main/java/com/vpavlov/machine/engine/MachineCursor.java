@@ -0,0 +1,167 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lightweight run cursor over a shared compiled machine. Holds its own current state and optionally its own transitions log.
+ * Any number of cursors can run the same machine concurrently, a single cursor is not thread-safe.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class MachineCursor {
+
+    /**
+     * Initial capacity of the transitions log
+     */
+    private static final int INITIAL_LOG_CAPACITY = 16;
+
+    /**
+     * The machine to run
+     */
+    private final CompiledMachine machine;
+
+    /**
+     * Is the transitions log kept
+     */
+    private final boolean logging;
+
+    /**
+     * Current state number
+     */
+    private int currentState;
+
+    /**
+     * Logged states from which the transitions were made
+     */
+    private int[] loggedStates;
+
+    /**
+     * Logged symbol codes of the transitions
+     */
+    private int[] loggedSymbols;
+
+    /**
+     * Count of the logged transitions
+     */
+    private int logSize = 0;
+
+    /**
+     * Constructor. Creates cursor without transitions log.
+     *
+     * @param machine the machine to run
+     */
+    public MachineCursor(CompiledMachine machine) {
+        this(machine, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine the machine to run
+     * @param logging true if the transitions log should be kept
+     */
+    public MachineCursor(CompiledMachine machine, boolean logging) {
+        this.machine = machine;
+        this.logging = logging;
+        this.currentState = machine.getStartState();
+        if (logging) {
+            loggedStates = new int[INITIAL_LOG_CAPACITY];
+            loggedSymbols = new int[INITIAL_LOG_CAPACITY];
+        }
+    }
+
+    /**
+     * Make transition from current state to the next one according to the given symbol.
+     *
+     * @param symbol the symbol to make transition
+     * @return true if the symbol is in the machine alphabet; else false
+     */
+    public boolean makeTransition(String symbol) {
+        int code = machine.getAlphabet().encode(symbol);
+        if (code == Alphabet.UNKNOWN) {
+            return false;
+        }
+        step(code);
+        return true;
+    }
+
+    /**
+     * Make transition from current state to the next one according to the given symbol code.
+     *
+     * @param code the symbol code to make transition
+     */
+    public void step(int code) {
+        if (logging) {
+            if (logSize == loggedStates.length) {
+                loggedStates = Arrays.copyOf(loggedStates, logSize * 2);
+                loggedSymbols = Arrays.copyOf(loggedSymbols, logSize * 2);
+            }
+            loggedStates[logSize] = currentState;
+            loggedSymbols[logSize] = code;
+            ++logSize;
+        }
+        currentState = machine.step(currentState, code);
+    }
+
+    /**
+     * Undo last transition
+     *
+     * @throws IllegalStateException if the cursor is in initial state or the log is not kept
+     */
+    public void undo() throws IllegalStateException {
+        if (!logging) {
+            throw new IllegalStateException("The transitions log is not kept.");
+        }
+        if (logSize == 0) {
+            throw new IllegalStateException("The machine is in initial state.");
+        }
+        currentState = loggedStates[--logSize];
+    }
+
+    /**
+     * Reset the cursor to the start state and clear the transitions log
+     */
+    public void reset() {
+        currentState = machine.getStartState();
+        logSize = 0;
+    }
+
+    /**
+     * The current state getter
+     *
+     * @return the title of the current state or null for the implicit sink state
+     */
+    public String getCurrentState() {
+        return machine.stateTitle(currentState);
+    }
+
+    /**
+     * Check if the current state is a final state
+     *
+     * @return true if the current state is a final state, else false
+     */
+    public boolean isFinalState() {
+        return machine.isFinalState(currentState);
+    }
+
+    /**
+     * Transitions log getter
+     *
+     * @return list of logged transitions, empty if the log is not kept
+     */
+    public List<MachineTransition> getTransitionsLog() {
+        List<MachineTransition> log = new ArrayList<>(logSize);
+        for (int i = 0; i < logSize; ++i) {
+            String to = machine.stateTitle(i + 1 < logSize ? loggedStates[i + 1] : currentState);
+            log.add(new MachineTransition(machine.getAlphabet().decode(loggedSymbols[i]), machine.stateTitle(loggedStates[i]), to));
+        }
+
+        return log;
+    }
+}
@@ -0,0 +1,101 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+/**
+ * Common interface of the immutable machine engines. States are numbered from 0, symbols are given by their alphabet codes.
+ * Engines are immutable and can be shared between threads.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ * @see OffHeapMachine
+ */
+public interface MachineEngine {
+
+    /**
+     * Result state of the run which was aborted because of a symbol which is not in the alphabet
+     */
+    int REJECTED = -1;
+
+    /**
+     * Makes one transition
+     *
+     * @param state  the number of the state to make transition from
+     * @param symbol the code of the transition symbol
+     * @return the number of the next state
+     */
+    int step(int state, int symbol);
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    int finalState(CharSequence input);
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    int finalState(byte[] input, int offset, int length);
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    boolean accepts(CharSequence input);
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    boolean accepts(byte[] input, int offset, int length);
+
+    /**
+     * Check if the state is final
+     *
+     * @param state the state number or {@link #REJECTED}
+     * @return true if the state is final, else false
+     */
+    boolean isFinalState(int state);
+
+    /**
+     * Start state getter
+     *
+     * @return the number of the start state
+     */
+    int getStartState();
+
+    /**
+     * Count of the states getter
+     *
+     * @return count of the states
+     */
+    int getStatesCount();
+
+    /**
+     * Count of the alphabet symbols getter
+     *
+     * @return count of the alphabet symbols
+     */
+    int getSymbolsCount();
+
+    /**
+     * Alphabet getter
+     *
+     * @return alphabet of the machine
+     */
+    Alphabet getAlphabet();
+}
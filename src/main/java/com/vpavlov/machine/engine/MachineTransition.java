@@ -1,4 +1,4 @@
-package com.vpavlov.services.machine;
+package com.vpavlov.machine.engine;
 
 /**
  * Machine transition record. Used for logging machine actions
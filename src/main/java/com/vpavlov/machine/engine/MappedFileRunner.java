@@ -0,0 +1,60 @@
+package com.vpavlov.machine.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped file runner static class. Runs a compiled machine directly over the mapped bytes of a file.
+ * Every file byte is a single symbol. Files larger than one mapping window are mapped window by window.
+ * The run stops as soon as the machine enters a rejecting sink state.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public final class MappedFileRunner {
+
+    /**
+     * Maximal size of one mapped window in bytes
+     */
+    static final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * Private empty constructor
+     */
+    private MappedFileRunner() {
+    }
+
+    /**
+     * Runs the machine over all bytes of the file
+     *
+     * @param machine the machine to run
+     * @param file    the file to read input from
+     * @return result of the run
+     * @throws IOException if any
+     */
+    public static RunResult run(CompiledMachine machine, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int state = machine.getStartState();
+            long consumed = 0;
+            for (long position = 0; position < size; position += WINDOW_SIZE) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+                state = machine.run(state, window);
+                consumed += window.position();
+                if (state == CompiledMachine.REJECTED) {
+                    return new RunResult(null, false, consumed);
+                }
+                if (machine.isRejectingSink(state)) {
+                    //the rest of the input cannot change the verdict
+                    return new RunResult(machine.stateTitle(state), false, consumed);
+                }
+            }
+
+            return new RunResult(machine.stateTitle(state), machine.isFinalState(state), consumed);
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Machine engine which keeps the transition table and the final states bitmap off the heap,
+ * in direct buffers or in buffers mapped straight from a file. The table is split into chunks
+ * and indexed by 64-bit positions, so its size is not limited by the maximal array size
+ * and it does not add to the garbage collection work.<br>
+ * The engine has no state titles and does not stop runs early in sink states.
+ * The off-heap memory is released when the engine is garbage collected.<br>
+ * File format (big-endian): magic, version, count of the states, count of the symbols, start state (ints),
+ * offset of the table (long), alphabet symbols (modified UTF-8), the table of ints
+ * [state * count of the symbols + symbol code] -> next state and the final states bitmap of longs.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see MachineEngine
+ */
+public final class OffHeapMachine implements MachineEngine {
+
+    /**
+     * Magic number of the engine files
+     */
+    private static final int MAGIC = 0x44464131;
+
+    /**
+     * Version of the engine file format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the fixed part of the file header: magic, version, counts, start state and table offset
+     */
+    private static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * Binary logarithm of the count of the table entries in one chunk
+     */
+    static final int CHUNK_SHIFT = 27;
+
+    /**
+     * Mask of the table entry position within a chunk
+     */
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    /**
+     * Size of the buffer used for writing files
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Count of the possible byte values
+     */
+    private static final int BYTE_VALUES = 256;
+
+    /**
+     * Chunks of the flat transition table
+     */
+    private final IntBuffer[] chunks;
+
+    /**
+     * Final states bitmap
+     */
+    private final LongBuffer finalStates;
+
+    /**
+     * Count of the states
+     */
+    private final int statesCount;
+
+    /**
+     * Count of the alphabet symbols
+     */
+    private final int symbolsCount;
+
+    /**
+     * Start state number
+     */
+    private final int startState;
+
+    /**
+     * Alphabet of the machine
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Symbol codes of the raw input bytes [byte & 0xFF] -> code
+     */
+    private final int[] byteCodes;
+
+    /**
+     * Constructor
+     *
+     * @param chunks      chunks of the flat transition table
+     * @param finalStates final states bitmap
+     * @param statesCount count of the states
+     * @param startState  start state number
+     * @param alphabet    alphabet of the machine
+     */
+    private OffHeapMachine(IntBuffer[] chunks, LongBuffer finalStates, int statesCount, int startState, Alphabet alphabet) {
+        this.chunks = chunks;
+        this.finalStates = finalStates;
+        this.statesCount = statesCount;
+        this.symbolsCount = alphabet.size();
+        this.startState = startState;
+        this.alphabet = alphabet;
+        this.byteCodes = new int[BYTE_VALUES];
+        for (int i = 0; i < BYTE_VALUES; ++i) {
+            byteCodes[i] = alphabet.encode((char) i);
+        }
+    }
+
+    /**
+     * Copies the specified engine to the off-heap memory
+     *
+     * @param engine the engine to copy
+     * @return off-heap copy of the engine
+     */
+    public static OffHeapMachine of(MachineEngine engine) {
+        int count = engine.getStatesCount();
+        int width = engine.getSymbolsCount();
+        long size = (long) count * width;
+        IntBuffer[] chunks = new IntBuffer[chunksCount(size)];
+        for (int chunk = 0; chunk < chunks.length; ++chunk) {
+            int length = chunkLength(size, chunk);
+            chunks[chunk] = ByteBuffer.allocateDirect(length * Integer.BYTES).asIntBuffer();
+            long first = (long) chunk << CHUNK_SHIFT;
+            for (int i = 0; i < length; ++i) {
+                long index = first + i;
+                chunks[chunk].put(i, engine.step((int) (index / width), (int) (index % width)));
+            }
+        }
+        LongBuffer finalStates = ByteBuffer.allocateDirect(bitmapLength(count) * Long.BYTES).asLongBuffer();
+        for (int state = 0; state < count; ++state) {
+            if (engine.isFinalState(state)) {
+                finalStates.put(state >>> 6, finalStates.get(state >>> 6) | 1L << state);
+            }
+        }
+
+        return new OffHeapMachine(chunks, finalStates, count, engine.getStartState(), engine.getAlphabet());
+    }
+
+    /**
+     * Saves the specified engine to the file. An engine loaded from a file must not be saved into the same file.
+     *
+     * @param engine the engine to save
+     * @param file   the file to save into
+     * @throws IOException if any
+     */
+    public static void save(MachineEngine engine, File file) throws IOException {
+        int count = engine.getStatesCount();
+        int width = engine.getSymbolsCount();
+        ByteArrayOutputStream symbolBytes = new ByteArrayOutputStream();
+        DataOutputStream symbols = new DataOutputStream(symbolBytes);
+        for (int code = 0; code < width; ++code) {
+            symbols.writeUTF(engine.getAlphabet().decode(code));
+        }
+        int headerSize = HEADER_SIZE + symbolBytes.size();
+        long tableOffset = align(headerSize);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(WRITE_BUFFER_SIZE, (int) tableOffset));
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(width).putInt(engine.getStartState()).putLong(tableOffset);
+            buffer.put(symbolBytes.toByteArray());
+            buffer.position((int) tableOffset);
+            for (int state = 0; state < count; ++state) {
+                for (int symbol = 0; symbol < width; ++symbol) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(engine.step(state, symbol));
+                }
+            }
+            //the bitmap is aligned to longs
+            long tableEnd = tableOffset + (long) count * width * Integer.BYTES;
+            for (long padding = align(tableEnd) - tableEnd; padding > 0; --padding) {
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+                buffer.put((byte) 0);
+            }
+            for (int word = 0; word < bitmapLength(count); ++word) {
+                long bits = 0;
+                for (int bit = 0; bit < Long.SIZE && word * Long.SIZE + bit < count; ++bit) {
+                    if (engine.isFinalState(word * Long.SIZE + bit)) {
+                        bits |= 1L << bit;
+                    }
+                }
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(bits);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Loads the engine from the file. The table and the bitmap are mapped from the file, not read to the heap.
+     * The header is validated before anything is allocated and the table is read once to check
+     * that every entry is a valid state number.
+     *
+     * @param file the file to load from
+     * @return the engine mapped from the file
+     * @throws IOException if any or if the file is not a valid engine file
+     */
+    public static OffHeapMachine load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer fixed = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, fixed, 0);
+            fixed.flip();
+            if (fixed.getInt() != MAGIC || fixed.getInt() != VERSION) {
+                throw new IOException("The file is not a machine engine file.");
+            }
+            int count = fixed.getInt();
+            int width = fixed.getInt();
+            int start = fixed.getInt();
+            long tableOffset = fixed.getLong();
+            //every symbol takes at least the two bytes of its length
+            if (count < 1 || width < 1 || start < 0 || start >= count || tableOffset % Long.BYTES != 0
+                    || tableOffset < HEADER_SIZE + 2L * width || tableOffset > channel.size()
+                    || tableOffset - HEADER_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("The machine engine file is corrupted.");
+            }
+
+            ByteBuffer symbolBytes = ByteBuffer.allocate((int) (tableOffset - HEADER_SIZE));
+            readFully(channel, symbolBytes, HEADER_SIZE);
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(symbolBytes.array()));
+            String[] symbols = new String[width];
+            for (int code = 0; code < width; ++code) {
+                symbols[code] = header.readUTF();
+            }
+            Alphabet alphabet = new Alphabet(symbols);
+            long size = (long) count * width;
+            long bitmapOffset = align(tableOffset + size * Integer.BYTES);
+            //the table starts right after the symbols aligned to longs
+            if (alphabet.size() != width || header.available() >= Long.BYTES
+                    || bitmapOffset + (long) bitmapLength(count) * Long.BYTES > channel.size()) {
+                throw new IOException("The machine engine file is corrupted.");
+            }
+
+            IntBuffer[] chunks = new IntBuffer[chunksCount(size)];
+            for (int chunk = 0; chunk < chunks.length; ++chunk) {
+                long position = tableOffset + ((long) chunk << CHUNK_SHIFT) * Integer.BYTES;
+                chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) chunkLength(size, chunk) * Integer.BYTES).asIntBuffer();
+                for (int i = 0, length = chunks[chunk].limit(); i < length; ++i) {
+                    if (Integer.compareUnsigned(chunks[chunk].get(i), count) >= 0) {
+                        throw new IOException("The machine engine file is corrupted.");
+                    }
+                }
+            }
+            LongBuffer finalStates = channel.map(FileChannel.MapMode.READ_ONLY, bitmapOffset, (long) bitmapLength(count) * Long.BYTES).asLongBuffer();
+
+            return new OffHeapMachine(chunks, finalStates, count, start, alphabet);
+        }
+    }
+
+    /**
+     * Reads the channel content from the position until the buffer is full
+     *
+     * @param channel  the channel
+     * @param buffer   the buffer
+     * @param position the file position to read from
+     * @throws IOException if any or if the file ends before the buffer is full
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("The machine engine file is corrupted.");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Writes the buffer content to the channel and clears the buffer
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @throws IOException if any
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Aligns the file position to longs
+     *
+     * @param position the file position
+     * @return the smallest aligned position not less than the specified one
+     */
+    private static long align(long position) {
+        return (position + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * Count of the table chunks
+     *
+     * @param size count of the table entries
+     * @return count of the table chunks
+     */
+    private static int chunksCount(long size) {
+        return Math.toIntExact((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Count of the entries of the table chunk
+     *
+     * @param size  count of the table entries
+     * @param chunk the chunk number
+     * @return count of the entries of the chunk
+     */
+    private static int chunkLength(long size, int chunk) {
+        return (int) Math.min(1L << CHUNK_SHIFT, size - ((long) chunk << CHUNK_SHIFT));
+    }
+
+    /**
+     * Count of the longs of the final states bitmap
+     *
+     * @param count count of the states
+     * @return count of the longs of the bitmap
+     */
+    private static int bitmapLength(int count) {
+        return (count + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Makes one transition, reads the entry from the table chunk
+     *
+     * @param state  the number of the state to make transition from
+     * @param symbol the code of the transition symbol
+     * @return the number of the next state
+     */
+    @Override
+    public int step(int state, int symbol) {
+        long index = (long) state * symbolsCount + symbol;
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    @Override
+    public int finalState(CharSequence input) {
+        int state = startState;
+        for (int i = 0, length = input.length(); i < length; ++i) {
+            int code = alphabet.encode(input.charAt(i));
+            if (code == Alphabet.UNKNOWN) {
+                return REJECTED;
+            }
+            state = step(state, code);
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return the number of the state in which the machine ends or {@link #REJECTED} if the input contains unknown symbol
+     */
+    @Override
+    public int finalState(byte[] input, int offset, int length) {
+        int[] byteCodes = this.byteCodes;
+        int state = startState;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            int code = byteCodes[input[i] & 0xFF];
+            if (code == Alphabet.UNKNOWN) {
+                return REJECTED;
+            }
+            state = step(state, code);
+        }
+
+        return state;
+    }
+
+    /**
+     * Runs the machine from the start state over specified input. Every char of the input is a single symbol.
+     * The run does not stop early in sink states.
+     *
+     * @param input the input
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    @Override
+    public boolean accepts(CharSequence input) {
+        return isFinalState(finalState(input));
+    }
+
+    /**
+     * Runs the machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     * The run does not stop early in sink states.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    @Override
+    public boolean accepts(byte[] input, int offset, int length) {
+        return isFinalState(finalState(input, offset, length));
+    }
+
+    /**
+     * Check if the state is final, reads the final states bitmap
+     *
+     * @param state the state number or {@link #REJECTED}
+     * @return true if the state is final, else false
+     */
+    @Override
+    public boolean isFinalState(int state) {
+        return state != REJECTED && (finalStates.get(state >>> 6) & 1L << state) != 0;
+    }
+
+    /**
+     * Start state getter
+     *
+     * @return the number of the start state
+     */
+    @Override
+    public int getStartState() {
+        return startState;
+    }
+
+    /**
+     * Count of the states getter
+     *
+     * @return count of the states
+     */
+    @Override
+    public int getStatesCount() {
+        return statesCount;
+    }
+
+    /**
+     * Count of the alphabet symbols getter
+     *
+     * @return count of the alphabet symbols
+     */
+    @Override
+    public int getSymbolsCount() {
+        return symbolsCount;
+    }
+
+    /**
+     * Alphabet getter
+     *
+     * @return alphabet of the machine
+     */
+    @Override
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+}
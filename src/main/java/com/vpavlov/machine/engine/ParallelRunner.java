@@ -0,0 +1,311 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a compiled machine over one large input using all cores. Every input byte is a single symbol.<br>
+ * The input is split into chunks, for every chunk the transition function of all machine states
+ * (state map [start state] -> end state) is computed in parallel, then the maps are composed in input order.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class ParallelRunner {
+
+    /**
+     * Default minimal size of one chunk in bytes
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Count of the steps between merging of the equal current states of a chunk
+     */
+    private static final int MERGE_PERIOD = 64;
+
+    /**
+     * The machine to run
+     */
+    private final CompiledMachine machine;
+
+    /**
+     * Pool to run chunks in
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Minimal size of one chunk in bytes
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor. Uses the common pool.
+     *
+     * @param machine the machine to run
+     */
+    public ParallelRunner(CompiledMachine machine) {
+        this(machine, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine   the machine to run
+     * @param pool      pool to run chunks in
+     * @param chunkSize minimal size of one chunk in bytes
+     */
+    public ParallelRunner(CompiledMachine machine, ForkJoinPool pool, int chunkSize) {
+        this.machine = machine;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs the machine over the raw input bytes
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return result of the run
+     */
+    public RunResult run(byte[] input, int offset, int length) {
+        ByteBuffer[] regions = {ByteBuffer.wrap(input, offset, length).slice()};
+        return run(regions, Math.max(length, 1), length);
+    }
+
+    /**
+     * Runs the machine over all bytes of the file. The file is memory-mapped.
+     *
+     * @param file the file to read input from
+     * @return result of the run
+     * @throws IOException if any
+     */
+    public RunResult run(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] regions = new ByteBuffer[(int) ((size + MappedFileRunner.WINDOW_SIZE - 1) / MappedFileRunner.WINDOW_SIZE)];
+            for (int i = 0; i < regions.length; ++i) {
+                long position = i * MappedFileRunner.WINDOW_SIZE;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MappedFileRunner.WINDOW_SIZE, size - position));
+            }
+            return run(regions, MappedFileRunner.WINDOW_SIZE, size);
+        }
+    }
+
+    /**
+     * Runs the machine over the input regions
+     *
+     * @param regions    input regions, all but the last one have the region size
+     * @param regionSize size of one region in bytes
+     * @param size       total input size in bytes
+     * @return result of the run
+     */
+    private RunResult run(ByteBuffer[] regions, long regionSize, long size) {
+        int state = machine.getStartState();
+        if (size == 0) {
+            return new RunResult(machine.stateTitle(state), machine.isFinalState(state), 0);
+        }
+        ChunkResult result = pool.invoke(new ChunkTask(regions, regionSize, 0, size));
+        if (result.firstUnknown >= 0) {
+            return new RunResult(null, false, result.firstUnknown);
+        }
+        state = result.stateMap[state];
+        return new RunResult(machine.stateTitle(state), machine.isFinalState(state), size);
+    }
+
+    /**
+     * Transition function of one input chunk
+     */
+    private static final class ChunkResult {
+
+        /**
+         * State map [start state] -> end state
+         */
+        private final int[] stateMap;
+
+        /**
+         * Position of the first unknown symbol in the input or -1 if there is none
+         */
+        private final long firstUnknown;
+
+        /**
+         * Constructor
+         *
+         * @param stateMap     state map [start state] -> end state
+         * @param firstUnknown position of the first unknown symbol in the input or -1 if there is none
+         */
+        private ChunkResult(int[] stateMap, long firstUnknown) {
+            this.stateMap = stateMap;
+            this.firstUnknown = firstUnknown;
+        }
+
+        /**
+         * Composes the transition function with the transition function of the next chunk
+         *
+         * @param next the transition function of the next chunk
+         * @return composed transition function
+         */
+        private ChunkResult then(ChunkResult next) {
+            if (firstUnknown >= 0) {
+                return this;
+            }
+            if (next.firstUnknown >= 0) {
+                return next;
+            }
+            int[] composed = new int[stateMap.length];
+            for (int state = 0; state < composed.length; ++state) {
+                composed[state] = next.stateMap[stateMap[state]];
+            }
+
+            return new ChunkResult(composed, -1);
+        }
+    }
+
+    /**
+     * Task computing the transition function of the input range
+     */
+    @SuppressWarnings("serial")
+    private final class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        /**
+         * Input regions
+         */
+        private final ByteBuffer[] regions;
+
+        /**
+         * Size of one region in bytes
+         */
+        private final long regionSize;
+
+        /**
+         * Start position of the range (inclusive)
+         */
+        private final long from;
+
+        /**
+         * End position of the range (exclusive)
+         */
+        private final long to;
+
+        /**
+         * Constructor
+         *
+         * @param regions    input regions
+         * @param regionSize size of one region in bytes
+         * @param from       start position of the range (inclusive)
+         * @param to         end position of the range (exclusive)
+         */
+        private ChunkTask(ByteBuffer[] regions, long regionSize, long from, long to) {
+            this.regions = regions;
+            this.regionSize = regionSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            long firstRegion = from / regionSize;
+            long lastRegion = (to - 1) / regionSize;
+            long middle;
+            if (firstRegion != lastRegion) {
+                //never let a chunk cross a region boundary
+                middle = (firstRegion + 1) * regionSize;
+            } else if (to - from >= 2L * chunkSize) {
+                middle = from + (to - from) / 2;
+            } else {
+                return computeChunk(regions[(int) firstRegion], (int) (from - firstRegion * regionSize), (int) (to - from), from);
+            }
+            ChunkTask right = new ChunkTask(regions, regionSize, middle, to);
+            right.fork();
+            ChunkResult left = new ChunkTask(regions, regionSize, from, middle).compute();
+
+            return left.then(right.join());
+        }
+
+        /**
+         * Computes the transition function of the chunk. Equal current states are merged periodically,
+         * so the work per byte shrinks to the count of distinct current states.
+         *
+         * @param region   the region with the chunk
+         * @param offset   offset of the chunk in the region
+         * @param length   length of the chunk
+         * @param position position of the chunk in the input
+         * @return transition function of the chunk
+         */
+        private ChunkResult computeChunk(ByteBuffer region, int offset, int length, long position) {
+            int[] table = machine.getTable();
+            int width = machine.getSymbolsCount();
+            int statesCount = machine.getStatesCount();
+            int[] current = new int[statesCount];
+            int[] groups = new int[statesCount];
+            for (int state = 0; state < statesCount; ++state) {
+                current[state] = state;
+                groups[state] = state;
+            }
+            int distinct = statesCount;
+            int[] merged = new int[statesCount];
+            Arrays.fill(merged, -1);
+
+            for (int i = 0; i < length; ++i) {
+                int code = machine.byteCode(region.get(offset + i));
+                if (code == Alphabet.UNKNOWN) {
+                    return new ChunkResult(null, position + i);
+                }
+                for (int j = 0; j < distinct; ++j) {
+                    current[j] = table[current[j] * width + code];
+                }
+                if (distinct > 1 && i % MERGE_PERIOD == MERGE_PERIOD - 1) {
+                    distinct = merge(current, distinct, groups, merged);
+                }
+            }
+
+            int[] stateMap = new int[statesCount];
+            for (int state = 0; state < statesCount; ++state) {
+                stateMap[state] = current[groups[state]];
+            }
+
+            return new ChunkResult(stateMap, -1);
+        }
+
+        /**
+         * Merges equal current states
+         *
+         * @param current  current states of the groups
+         * @param distinct count of the groups
+         * @param groups   group indexes by start state
+         * @param merged   new group indexes by current state, all -1 on input and output
+         * @return new count of the groups
+         */
+        private int merge(int[] current, int distinct, int[] groups, int[] merged) {
+            int[] remap = new int[distinct];
+            int count = 0;
+            for (int j = 0; j < distinct; ++j) {
+                int state = current[j];
+                if (merged[state] == -1) {
+                    merged[state] = count;
+                    current[count++] = state;
+                }
+                remap[j] = merged[state];
+            }
+            for (int j = 0; j < count; ++j) {
+                merged[current[j]] = -1;
+            }
+            if (count != distinct) {
+                for (int state = 0; state < groups.length; ++state) {
+                    groups[state] = remap[groups[state]];
+                }
+            }
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.vpavlov.machine.engine;
+
+import com.vpavlov.machine.Alphabet;
+
+import java.util.Arrays;
+
+/**
+ * Lazily constructed product of several compiled machines with the same alphabet.
+ * Product states (tuples of the component states) and their transitions are built on demand during runs
+ * and kept in a bounded cache, so the full product state space is never materialised.
+ * When the cache is full it is cleared and filled again from the current state.<br>
+ * The cache makes the product machine not thread-safe, use one product machine per thread
+ * (the component machines can be shared).
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class ProductMachine {
+
+    /**
+     * Default maximal count of the cached product states
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1 << 16;
+
+    /**
+     * Mark of the transition which is not built yet
+     */
+    private static final int UNKNOWN_TRANSITION = -1;
+
+    /**
+     * Mark of the empty hash table slot
+     */
+    private static final int EMPTY_SLOT = -1;
+
+    /**
+     * Product operation. Defines which product states are final.
+     */
+    public enum Operation {
+
+        /**
+         * All machines accept
+         */
+        INTERSECTION,
+
+        /**
+         * At least one machine accepts
+         */
+        UNION,
+
+        /**
+         * The first machine accepts and no other machine accepts
+         */
+        DIFFERENCE
+    }
+
+    /**
+     * Component machines
+     */
+    private final CompiledMachine[] machines;
+
+    /**
+     * Product operation
+     */
+    private final Operation operation;
+
+    /**
+     * Common alphabet of the machines
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Count of the alphabet symbols
+     */
+    private final int width;
+
+    /**
+     * Maximal count of the cached product states
+     */
+    private final int capacity;
+
+    /**
+     * Component states of the cached product states [id * machines count + machine] -> state
+     */
+    private final int[] tuples;
+
+    /**
+     * Transitions of the cached product states [id * width + symbol code] -> id
+     */
+    private final int[] transitions;
+
+    /**
+     * Final flags of the cached product states
+     */
+    private final boolean[] accepting;
+
+    /**
+     * Open addressing hash table of the cached product state ids
+     */
+    private final int[] slots;
+
+    /**
+     * Start product state
+     */
+    private final int[] startTuple;
+
+    /**
+     * Product state being built
+     */
+    private final int[] nextTuple;
+
+    /**
+     * Count of the cached product states
+     */
+    private int size = 0;
+
+    /**
+     * Count of the cache clearings
+     */
+    private long clearings = 0;
+
+    /**
+     * Constructor
+     *
+     * @param operation product operation
+     * @param machines  component machines, at least two
+     * @throws IllegalArgumentException if less than two machines are specified or their alphabets differ
+     */
+    public ProductMachine(Operation operation, CompiledMachine... machines) throws IllegalArgumentException {
+        this(operation, DEFAULT_CACHE_SIZE, machines);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param operation product operation
+     * @param cacheSize maximal count of the cached product states
+     * @param machines  component machines, at least two
+     * @throws IllegalArgumentException if less than two machines are specified or their alphabets differ
+     */
+    public ProductMachine(Operation operation, int cacheSize, CompiledMachine... machines) throws IllegalArgumentException {
+        if (machines.length < 2) {
+            throw new IllegalArgumentException("At least two machines are required.");
+        }
+        for (CompiledMachine machine : machines) {
+            if (!machine.getAlphabet().isCompatible(machines[0].getAlphabet())) {
+                throw new IllegalArgumentException("The machines have different alphabets.");
+            }
+        }
+        this.machines = machines.clone();
+        this.operation = operation;
+        this.alphabet = machines[0].getAlphabet();
+        this.width = alphabet.size();
+        this.capacity = Math.max(cacheSize, 1);
+        this.tuples = new int[capacity * machines.length];
+        this.transitions = new int[capacity * width];
+        this.accepting = new boolean[capacity];
+        this.slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        Arrays.fill(slots, EMPTY_SLOT);
+        this.startTuple = new int[machines.length];
+        for (int i = 0; i < machines.length; ++i) {
+            startTuple[i] = machines[i].getStartState();
+        }
+        this.nextTuple = new int[machines.length];
+    }
+
+    /**
+     * Runs the product machine from the start state over specified input. Every char of the input is a single symbol.
+     *
+     * @param input the input
+     * @return true if the product machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    public boolean accepts(CharSequence input) {
+        int state = intern(startTuple);
+        for (int i = 0, length = input.length(); i < length; ++i) {
+            int code = alphabet.encode(input.charAt(i));
+            if (code == Alphabet.UNKNOWN) {
+                return false;
+            }
+            state = step(state, code);
+        }
+
+        return accepting[state];
+    }
+
+    /**
+     * Runs the product machine from the start state over specified raw input bytes. Every byte of the input is a single symbol.
+     *
+     * @param input  the input bytes
+     * @param offset offset of the first input byte
+     * @param length count of the bytes to run
+     * @return true if the product machine ends in a final state, false otherwise or if the input contains unknown symbol
+     */
+    public boolean accepts(byte[] input, int offset, int length) {
+        CompiledMachine first = machines[0];
+        int state = intern(startTuple);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            int code = first.byteCode(input[i]);
+            if (code == Alphabet.UNKNOWN) {
+                return false;
+            }
+            state = step(state, code);
+        }
+
+        return accepting[state];
+    }
+
+    /**
+     * Makes one transition of the product machine, builds it if it is not cached
+     *
+     * @param state the id of the cached product state
+     * @param code  the symbol code
+     * @return the id of the next cached product state
+     */
+    private int step(int state, int code) {
+        int next = transitions[state * width + code];
+        if (next != UNKNOWN_TRANSITION) {
+            return next;
+        }
+        int count = machines.length;
+        for (int i = 0; i < count; ++i) {
+            nextTuple[i] = machines[i].step(tuples[state * count + i], code);
+        }
+        long clearingsBefore = clearings;
+        next = intern(nextTuple);
+        if (clearings == clearingsBefore) {
+            transitions[state * width + code] = next;
+        }
+
+        return next;
+    }
+
+    /**
+     * Gets the id of the cached product state, adds the state to the cache if needed
+     *
+     * @param tuple component states of the product state
+     * @return the id of the cached product state
+     */
+    private int intern(int[] tuple) {
+        int count = machines.length;
+        int mask = slots.length - 1;
+        int slot = hash(tuple) & mask;
+        while (slots[slot] != EMPTY_SLOT) {
+            int id = slots[slot];
+            if (Arrays.equals(tuples, id * count, id * count + count, tuple, 0, count)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == capacity) {
+            clear();
+            slot = hash(tuple) & mask;
+        }
+
+        int id = size++;
+        slots[slot] = id;
+        System.arraycopy(tuple, 0, tuples, id * count, count);
+        Arrays.fill(transitions, id * width, id * width + width, UNKNOWN_TRANSITION);
+        accepting[id] = isAccepting(tuple);
+
+        return id;
+    }
+
+    /**
+     * Clears the cache
+     */
+    private void clear() {
+        Arrays.fill(slots, EMPTY_SLOT);
+        size = 0;
+        ++clearings;
+    }
+
+    /**
+     * Check if the product state is final according to the product operation
+     *
+     * @param tuple component states of the product state
+     * @return true if the product state is final, else false
+     */
+    private boolean isAccepting(int[] tuple) {
+        switch (operation) {
+            case INTERSECTION -> {
+                for (int i = 0; i < tuple.length; ++i) {
+                    if (!machines[i].isFinalState(tuple[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case UNION -> {
+                for (int i = 0; i < tuple.length; ++i) {
+                    if (machines[i].isFinalState(tuple[i])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default -> {
+                for (int i = 1; i < tuple.length; ++i) {
+                    if (machines[i].isFinalState(tuple[i])) {
+                        return false;
+                    }
+                }
+                return machines[0].isFinalState(tuple[0]);
+            }
+        }
+    }
+
+    /**
+     * Hash of the product state
+     *
+     * @param tuple component states of the product state
+     * @return hash of the product state
+     */
+    private static int hash(int[] tuple) {
+        int hash = 1;
+        for (int state : tuple) {
+            hash = hash * 31 + state;
+        }
+
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Count of the cached product states getter
+     *
+     * @return count of the currently cached product states
+     */
+    public int getCachedStatesCount() {
+        return size;
+    }
+
+    /**
+     * Count of the cache clearings getter
+     *
+     * @return count of the cache clearings because the cache was full
+     */
+    public long getClearingsCount() {
+        return clearings;
+    }
+}
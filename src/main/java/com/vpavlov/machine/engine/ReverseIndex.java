@@ -0,0 +1,169 @@
+package com.vpavlov.machine.engine;
+
+import java.util.BitSet;
+
+/**
+ * Compact reverse transition index in the compressed sparse row layout, built on demand from a forward transition table.
+ * Predecessors of every state with every symbol are stored in one primitive array, grouped by symbol and target state,
+ * the offsets array points to the start of every group. It takes two ints per transition
+ * and is used by the analyses which walk transitions backwards (co-reachability, minimization).
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public final class ReverseIndex {
+
+    /**
+     * Count of the states
+     */
+    private final int count;
+
+    /**
+     * Count of the alphabet symbols
+     */
+    private final int width;
+
+    /**
+     * Offsets of the predecessor groups [symbol * count + state] -> first predecessor position, with a final end offset
+     */
+    private final int[] offsets;
+
+    /**
+     * Predecessors grouped by symbol and target state
+     */
+    private final int[] predecessors;
+
+    /**
+     * Constructor
+     *
+     * @param count        count of the states
+     * @param width        count of the alphabet symbols
+     * @param offsets      offsets of the predecessor groups
+     * @param predecessors predecessors grouped by symbol and target state
+     */
+    private ReverseIndex(int count, int width, int[] offsets, int[] predecessors) {
+        this.count = count;
+        this.width = width;
+        this.offsets = offsets;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Builds the reverse index of the compiled machine
+     *
+     * @param machine the machine
+     * @return reverse index of the machine transitions
+     */
+    public static ReverseIndex of(CompiledMachine machine) {
+        return of(machine.getStatesCount(), machine.getSymbolsCount(), machine.getTable());
+    }
+
+    /**
+     * Builds the reverse index of the complete flat transition table in linear time
+     *
+     * @param count count of the states
+     * @param width count of the alphabet symbols
+     * @param table flat transition table [state * width + symbol code] -> next state
+     * @return reverse index of the table transitions
+     * @throws IllegalArgumentException if the table size does not match the count of the states
+     */
+    public static ReverseIndex of(int count, int width, int[] table) throws IllegalArgumentException {
+        if ((long) count * width != table.length) {
+            throw new IllegalArgumentException("The transition table size does not match the count of the states.");
+        }
+        int[] offsets = new int[Math.addExact(table.length, 1)];
+        for (int i = 0; i < table.length; ++i) {
+            ++offsets[(i % width) * count + table[i]];
+        }
+        for (int i = 1; i <= table.length; ++i) {
+            offsets[i] += offsets[i - 1];
+        }
+        //offsets hold the group ends, filling backwards turns them into the group starts in the ascending order
+        int[] predecessors = new int[table.length];
+        for (int i = table.length - 1; i >= 0; --i) {
+            predecessors[--offsets[(i % width) * count + table[i]]] = i / width;
+        }
+
+        return new ReverseIndex(count, width, offsets, predecessors);
+    }
+
+    /**
+     * Gets the position of the first predecessor of the state with the symbol
+     *
+     * @param state  the state number
+     * @param symbol the symbol code
+     * @return position of the first predecessor, see {@link #predecessor(int)}
+     */
+    public int start(int state, int symbol) {
+        return offsets[symbol * count + state];
+    }
+
+    /**
+     * Gets the position after the last predecessor of the state with the symbol
+     *
+     * @param state  the state number
+     * @param symbol the symbol code
+     * @return position after the last predecessor, see {@link #predecessor(int)}
+     */
+    public int end(int state, int symbol) {
+        return offsets[symbol * count + state + 1];
+    }
+
+    /**
+     * Gets the predecessor at the position
+     *
+     * @param position the position between {@link #start(int, int)} and {@link #end(int, int)}
+     * @return the number of the state with the transition to the indexed state
+     */
+    public int predecessor(int position) {
+        return predecessors[position];
+    }
+
+    /**
+     * Finds states from which a target state is reachable by breadth-first search over the reversed transitions
+     *
+     * @param targets the target state numbers
+     * @return numbers of the co-reachable states including the targets
+     */
+    public BitSet coReachable(BitSet targets) {
+        BitSet visited = (BitSet) targets.clone();
+        int[] queue = new int[count];
+        int tail = 0;
+        for (int state = targets.nextSetBit(0); state >= 0 && state < count; state = targets.nextSetBit(state + 1)) {
+            queue[tail++] = state;
+        }
+        for (int head = 0; head < tail; ++head) {
+            int state = queue[head];
+            for (int symbol = 0; symbol < width; ++symbol) {
+                for (int i = start(state, symbol), end = end(state, symbol); i < end; ++i) {
+                    int previous = predecessors[i];
+                    if (!visited.get(previous)) {
+                        visited.set(previous);
+                        queue[tail++] = previous;
+                    }
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * Count of the states getter
+     *
+     * @return count of the indexed states
+     */
+    public int getStatesCount() {
+        return count;
+    }
+
+    /**
+     * Count of the alphabet symbols getter
+     *
+     * @return count of the alphabet symbols
+     */
+    public int getSymbolsCount() {
+        return width;
+    }
+}
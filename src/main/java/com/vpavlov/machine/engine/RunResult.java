@@ -0,0 +1,18 @@
+package com.vpavlov.machine.engine;
+
+/**
+ * Result of the machine run over an input
+ *
+ * @param finalState the title of the state in which the run ended, null if the run was rejected
+ *                   because of an unknown symbol or ended in the implicit sink state
+ * @param accepted   true if the machine ended in a final state
+ * @param consumed   count of the consumed input symbols, runs may stop early in a rejecting sink state
+ * @author vpavlov
+ */
+public record RunResult(String finalState, boolean accepted, long consumed) {
+
+    @Override
+    public String toString() {
+        return String.format("<%s> %s after %d symbols", finalState, accepted ? "accepted" : "rejected", consumed);
+    }
+}
@@ -0,0 +1,147 @@
+package com.vpavlov.machine.engine;
+
+import java.util.Arrays;
+
+/**
+ * Sink analysis static class. Finds strongly connected components of a complete machine
+ * using the iterative Tarjan's algorithm and marks the states from which acceptance is impossible (rejecting sinks)
+ * and the states from which every continuation is accepted (accepting sinks).
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+final class SinkAnalysis {
+
+    /**
+     * Flag of the state from which acceptance is impossible
+     */
+    static final byte REJECTING_SINK = 1;
+
+    /**
+     * Flag of the state from which every continuation is accepted
+     */
+    static final byte ACCEPTING_SINK = 2;
+
+    /**
+     * Private empty constructor
+     */
+    private SinkAnalysis() {
+    }
+
+    /**
+     * Computes sink flags of the machine states.
+     * Tarjan's algorithm completes the components in reverse topological order,
+     * so all successor components of a component are classified before it.
+     *
+     * @param count     count of the states
+     * @param width     count of the alphabet symbols
+     * @param table     flat transition table
+     * @param accepting final states flags
+     * @return sink flags of the states
+     */
+    static byte[] analyze(int count, int width, int[] table, boolean[] accepting) {
+        int[] indexes = new int[count];
+        int[] lowLinks = new int[count];
+        int[] components = new int[count];
+        boolean[] onStack = new boolean[count];
+        int[] stack = new int[count];
+        int[] callStates = new int[count];
+        int[] callSymbols = new int[count];
+        boolean[] canAccept = new boolean[count];
+        boolean[] allAccept = new boolean[count];
+        byte[] flags = new byte[count];
+        Arrays.fill(indexes, -1);
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentsCount = 0;
+
+        for (int root = 0; root < count; ++root) {
+            if (indexes[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStates[0] = root;
+            callSymbols[0] = 0;
+            indexes[root] = lowLinks[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int state = callStates[depth];
+                if (callSymbols[depth] < width) {
+                    int next = table[state * width + callSymbols[depth]++];
+                    if (indexes[next] == -1) {
+                        indexes[next] = lowLinks[next] = nextIndex++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        ++depth;
+                        callStates[depth] = next;
+                        callSymbols[depth] = 0;
+                    } else if (onStack[next]) {
+                        lowLinks[state] = Math.min(lowLinks[state], indexes[next]);
+                    }
+                    continue;
+                }
+
+                if (lowLinks[state] == indexes[state]) {
+                    int component = componentsCount++;
+                    int bottom = stackSize;
+                    do {
+                        --bottom;
+                        onStack[stack[bottom]] = false;
+                        components[stack[bottom]] = component;
+                    } while (stack[bottom] != state);
+                    classify(stack, bottom, stackSize, component, width, table, accepting, components, canAccept, allAccept, flags);
+                    stackSize = bottom;
+                }
+                --depth;
+                if (depth >= 0) {
+                    int parent = callStates[depth];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[state]);
+                }
+            }
+        }
+
+        return flags;
+    }
+
+    /**
+     * Classifies the completed component
+     *
+     * @param stack      Tarjan's stack
+     * @param from       index of the first component state on the stack (inclusive)
+     * @param to         index of the last component state on the stack (exclusive)
+     * @param component  the component index
+     * @param width      count of the alphabet symbols
+     * @param table      flat transition table
+     * @param accepting  final states flags
+     * @param components component indexes of the states
+     * @param canAccept  flags of the components from which a final state is reachable
+     * @param allAccept  flags of the components from which only final states are reachable
+     * @param flags      sink flags of the states
+     */
+    private static void classify(int[] stack, int from, int to, int component, int width, int[] table, boolean[] accepting,
+                                 int[] components, boolean[] canAccept, boolean[] allAccept, byte[] flags) {
+        boolean can = false;
+        boolean all = true;
+        for (int i = from; i < to; ++i) {
+            int state = stack[i];
+            can |= accepting[state];
+            all &= accepting[state];
+            for (int symbol = 0; symbol < width; ++symbol) {
+                int next = components[table[state * width + symbol]];
+                if (next != component) {
+                    can |= canAccept[next];
+                    all &= allAccept[next];
+                }
+            }
+        }
+        canAccept[component] = can;
+        allAccept[component] = all;
+        byte flag = !can ? REJECTING_SINK : all ? ACCEPTING_SINK : 0;
+        for (int i = from; i < to; ++i) {
+            flags[stack[i]] = flag;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.vpavlov.machine.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Runs a compiled machine over streamed input of any size. Every input byte is a single symbol.
+ * The input is read through one reusable direct buffer, so memory use does not depend on the input size.
+ * Reading stops as soon as the machine enters a rejecting sink state.<br>
+ * The runner is not thread-safe, use one runner per thread.
+ *
+ * @author vpavlov
+ * @version 18.10.2026
+ * @see CompiledMachine
+ */
+public class StreamRunner {
+
+    /**
+     * Default size of the input buffer in bytes
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The machine to run
+     */
+    private final CompiledMachine machine;
+
+    /**
+     * Reusable input buffer
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor
+     *
+     * @param machine the machine to run
+     */
+    public StreamRunner(CompiledMachine machine) {
+        this(machine, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param machine    the machine to run
+     * @param bufferSize size of the input buffer in bytes
+     */
+    public StreamRunner(CompiledMachine machine, int bufferSize) {
+        this.machine = machine;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Runs the machine over all bytes of the channel. The channel is not closed.
+     *
+     * @param channel the channel to read input from
+     * @return result of the run
+     * @throws IOException if any
+     */
+    public RunResult run(ReadableByteChannel channel) throws IOException {
+        int state = machine.getStartState();
+        long consumed = 0;
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            int start = buffer.position();
+            state = machine.run(state, buffer);
+            consumed += buffer.position() - start;
+            if (state == CompiledMachine.REJECTED) {
+                return new RunResult(null, false, consumed);
+            }
+            if (machine.isRejectingSink(state)) {
+                //the rest of the input cannot change the verdict
+                return new RunResult(machine.stateTitle(state), false, consumed);
+            }
+            buffer.clear();
+        }
+
+        return new RunResult(machine.stateTitle(state), machine.isFinalState(state), consumed);
+    }
+
+    /**
+     * Runs the machine over all bytes of the stream. The stream is not closed.
+     *
+     * @param input the stream to read input from
+     * @return result of the run
+     * @throws IOException if any
+     */
+    public RunResult run(InputStream input) throws IOException {
+        return run(Channels.newChannel(input));
+    }
+}
@@ -0,0 +1,173 @@
+package com.vpavlov.services.machine;
+
+import com.vpavlov.machine.Alphabet;
+import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+import com.vpavlov.machine.engine.RunResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the machine run results with the least recently used eviction.
+ * Every char of an input is a single symbol.<br>
+ * Results are computed on a compiled snapshot of the machine. When the machine is modified
+ * (states, transitions, start or final states) the snapshot is recompiled and all cached results are dropped,
+ * so stale results are never returned.<br>
+ * The cache is not thread-safe: the machine is compiled without any lock, so the cache must be used only
+ * on the thread which edits the machine (the JavaFX application thread).
+ *
+ * @author vpavlov
+ * @see MachineService#createResultCache(int)
+ * @see Machine#getModificationsCount()
+ */
+public class MachineResultCache {
+
+    /**
+     * The machine
+     */
+    private final Machine machine;
+
+    /**
+     * Cached results in the access order
+     */
+    private final Map<String, RunResult> results;
+
+    /**
+     * Compiled snapshot of the machine
+     */
+    private CompiledMachine snapshot = null;
+
+    /**
+     * Count of the machine modifications the snapshot was compiled at
+     */
+    private long modificationsCount = -1;
+
+    /**
+     * Count of the cache hits
+     */
+    private long hits = 0;
+
+    /**
+     * Count of the cache misses
+     */
+    private long misses = 0;
+
+    /**
+     * Constructor
+     *
+     * @param machine  the machine
+     * @param capacity maximal count of the cached results
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public MachineResultCache(Machine machine, int capacity) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache capacity must be positive.");
+        }
+        this.machine = machine;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RunResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Runs the machine over the input or gets the cached result
+     *
+     * @param input the input
+     * @return result of the run
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public RunResult run(String input) throws IllegalStateException {
+        validate();
+        RunResult result = results.get(input);
+        if (result != null) {
+            ++hits;
+            return result;
+        }
+        ++misses;
+        result = compute(input);
+        results.put(input, result);
+        return result;
+    }
+
+    /**
+     * Check if the machine accepts the input, uses the cached result if possible
+     *
+     * @param input the input
+     * @return true if the machine ends in a final state, false otherwise or if the input contains unknown symbol
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public boolean accepts(String input) throws IllegalStateException {
+        return run(input).accepted();
+    }
+
+    /**
+     * Drops the cached results and the snapshot if the machine was modified since the snapshot was compiled
+     *
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    private void validate() throws IllegalStateException {
+        if (snapshot == null || modificationsCount != machine.getModificationsCount()) {
+            results.clear();
+            snapshot = CompiledMachine.compile(machine);
+            modificationsCount = machine.getModificationsCount();
+        }
+    }
+
+    /**
+     * Runs the snapshot over the input
+     *
+     * @param input the input
+     * @return result of the run
+     */
+    private RunResult compute(String input) {
+        int state = snapshot.finalState(input);
+        if (state == CompiledMachine.REJECTED) {
+            Alphabet alphabet = snapshot.getAlphabet();
+            int consumed = 0;
+            while (alphabet.encode(input.charAt(consumed)) != Alphabet.UNKNOWN) {
+                ++consumed;
+            }
+            return new RunResult(null, false, consumed);
+        }
+
+        return new RunResult(snapshot.stateTitle(state), snapshot.isFinalState(state), input.length());
+    }
+
+    /**
+     * Drops all cached results
+     */
+    public void clear() {
+        results.clear();
+    }
+
+    /**
+     * Count of the cached results getter
+     *
+     * @return count of the cached results
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Count of the cache hits getter
+     *
+     * @return count of the cache hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Count of the cache misses getter
+     *
+     * @return count of the cache misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
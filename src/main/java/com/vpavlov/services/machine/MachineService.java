@@ -3,6 +3,8 @@ package com.vpavlov.services.machine;
 import com.vpavlov.App;
 import com.vpavlov.machine.Alphabet;
 import com.vpavlov.machine.Machine;
+import com.vpavlov.machine.engine.CompiledMachine;
+import com.vpavlov.machine.engine.MachineTransition;
 import com.vpavlov.services.machine.exceptions.StartStateSetException;
 import com.vpavlov.services.machine.exceptions.TransitionsExistException;
 import com.vpavlov.visualization.draw_model.MachineGraph;
@@ -49,7 +51,7 @@ public class MachineService {
     public MachineService() {
         alphabet = new Alphabet(App.getProperties().getProperty("alphabet"));
         machine = new Machine(alphabet, this::generateTitle);
-        machineGraph = new MachineGraph(this::generateTitle);
+        machineGraph = new MachineGraph();
     }
 
     /**
@@ -188,8 +190,8 @@ public class MachineService {
      * @param point the position to create node on.
      */
     public void addMachineNode(Point2D point) {
-        machine.addState();
-        machineGraph.addNode(point);
+        String title = machine.addState();
+        machineGraph.addNode(title, point.getX(), point.getY());
     }
 
     /**
@@ -203,6 +205,10 @@ public class MachineService {
      */
     public void addMachineNode(String title, double x, double y, boolean isStartNode, boolean isFinalNode) {
         machine.addState(title);
+        int titleIndex = titleIndex(title);
+        if (titleIndex >= 0) {
+            machine.reserveTitleIndex(titleIndex);
+        }
         machineGraph.addNode(title, x, y);
         if (isStartNode) {
             try {
@@ -218,14 +224,39 @@ public class MachineService {
     }
 
     /**
-     * Title generation method.
+     * Title generation method. Generates titles A..Z, AA..ZZ, AAA... (bijective base 26).
      *
      * @param index the index of the node/state to generate title for
      * @return generated title
      * @see com.vpavlov.services.machine.api.TitleGenerator
      */
     private String generateTitle(int index) {
-        return String.valueOf((char) ('A' + index));
+        StringBuilder title = new StringBuilder();
+        for (long i = index + 1L; i > 0; i = (i - 1) / 26) {
+            title.append((char) ('A' + (i - 1) % 26));
+        }
+        return title.reverse().toString();
+    }
+
+    /**
+     * Gets the index of the title generated by {@link #generateTitle(int)}
+     *
+     * @param title the title
+     * @return index of the title or -1 if the title is not a generated one
+     */
+    private static int titleIndex(String title) {
+        long index = 0;
+        for (int i = 0; i < title.length(); ++i) {
+            char c = title.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            index = index * 26 + (c - 'A' + 1);
+            if (index > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) index - 1;
     }
 
     /**
@@ -338,6 +369,29 @@ public class MachineService {
         return machine;
     }
 
+    /**
+     * Creates an immutable snapshot of the current machine. The snapshot can be shared between threads
+     * and is not affected by further machine editing.
+     *
+     * @return compiled snapshot of the machine
+     * @throws IllegalStateException if the machine start state is not set
+     */
+    public CompiledMachine snapshot() throws IllegalStateException {
+        return CompiledMachine.compile(machine);
+    }
+
+    /**
+     * Creates a bounded cache of the machine run results. The cache is invalidated automatically
+     * when the machine is edited through the service. The cache must be used on the thread which edits the machine.
+     *
+     * @param capacity maximal count of the cached results
+     * @return new result cache of the machine
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public MachineResultCache createResultCache(int capacity) throws IllegalArgumentException {
+        return new MachineResultCache(machine, capacity);
+    }
+
     /**
      * Current machine alphabet getter
      *
@@ -356,6 +410,15 @@ public class MachineService {
         return machine.isCompleteStates();
     }
 
+    /**
+     * Machine incomplete states getter
+     *
+     * @return titles of the machine states which do not have transitions with all alphabet symbols
+     */
+    public Collection<String> getIncompleteMachineStates() {
+        return machine.getIncompleteStates();
+    }
+
     /**
      * Machine start state set checker
      *
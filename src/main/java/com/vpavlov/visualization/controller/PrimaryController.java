@@ -1,9 +1,9 @@
 package com.vpavlov.visualization.controller;
 
+import com.vpavlov.machine.engine.MachineTransition;
 import com.vpavlov.proprety.AppProperties;
 import com.vpavlov.services.machine.MachineService;
 import com.vpavlov.services.machine.MachineServiceFileManager;
-import com.vpavlov.services.machine.MachineTransition;
 import com.vpavlov.visualization.handlers.InputFormatter;
 import com.vpavlov.visualization.machineBuilder.MachineBuilderStage;
 import com.vpavlov.visualization.tools.custom_alert.CustomAlert;
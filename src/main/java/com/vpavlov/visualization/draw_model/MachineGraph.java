@@ -1,8 +1,6 @@
 package com.vpavlov.visualization.draw_model;
 
 import com.vpavlov.App;
-import com.vpavlov.services.machine.api.TitleGenerator;
-import javafx.geometry.Point2D;
 import javafx.scene.Group;
 
 import java.util.*;
@@ -24,16 +22,6 @@ public class MachineGraph extends Group {
      */
     private final Set<TransitionLine> transitionLines;
 
-    /**
-     * machine nodes count
-     */
-    private int machineNodesCount = 0;
-
-    /**
-     * Title generator for machine nodes
-     */
-    private final TitleGenerator titleGenerator;
-
     /**
      * Current machine node
      */
@@ -41,11 +29,8 @@ public class MachineGraph extends Group {
 
     /**
      * Constructor
-     *
-     * @param titleGenerator title generator for machine nodes
      */
-    public MachineGraph(TitleGenerator titleGenerator) {
-        this.titleGenerator = titleGenerator;
+    public MachineGraph() {
         this.nodes = new HashMap<>();
         this.transitionLines = new HashSet<>();
         this.getStylesheets().add(App.class.getResource("css/machine-graph.css").toExternalForm());
@@ -58,8 +43,6 @@ public class MachineGraph extends Group {
      */
     public MachineGraph(MachineGraph machineGraph) {
         this.currentNode = null;
-        this.machineNodesCount = machineGraph.machineNodesCount;
-        this.titleGenerator = machineGraph.titleGenerator;
         this.nodes = copyNodes(machineGraph.nodes);
         this.transitionLines = new HashSet<>();
         copyTransitionLines(machineGraph.transitionLines);
@@ -106,20 +89,6 @@ public class MachineGraph extends Group {
         return nodes.get(title);
     }
 
-    /**
-     * Add new machine node. Title is generated automatically using title generation
-     *
-     * @param point new machine node coordinates
-     * @see TitleGenerator
-     */
-    public void addNode(Point2D point) {
-        String title = titleGenerator.generateTitle(machineNodesCount);
-        MachineNode node = new MachineNode(point.getX(), point.getY(), title);
-        nodes.put(title, node);
-        this.getChildren().add(node);
-        ++machineNodesCount;
-    }
-
     /**
      * Add new machine node
      *
@@ -131,7 +100,6 @@ public class MachineGraph extends Group {
         MachineNode node = new MachineNode(x, y, title);
         nodes.put(title, node);
         this.getChildren().add(node);
-        ++machineNodesCount;
     }
 
     /**
@@ -140,32 +108,10 @@ public class MachineGraph extends Group {
      * @param title node title to remove
      */
     public void removeNode(String title) {
-        --machineNodesCount;
         MachineNode node = nodes.get(title);
         nodes.remove(title);
         this.getChildren().removeAll(node.removeAllTransitions());
         this.getChildren().remove(node);
-        renameNodes(node);
-    }
-
-    /**
-     * Rename all nodes after node removing
-     *
-     * @param removedNode removed machine node
-     */
-    private void renameNodes(MachineNode removedNode) {
-        Set<MachineNode> renamed = new HashSet<>();
-        for (MachineNode node : nodes.values()) {
-            if (node.getTitle().compareTo(removedNode.getTitle()) > 0) {
-                String newTitle = String.valueOf((char) (node.getTitle().charAt(0) - 1));
-                node.setTitle(newTitle);
-                renamed.add(node);
-            }
-        }
-        for (MachineNode node : renamed) {
-            nodes.put(node.getTitle(), node);
-        }
-        nodes.remove(titleGenerator.generateTitle(machineNodesCount));
     }
 
     /**
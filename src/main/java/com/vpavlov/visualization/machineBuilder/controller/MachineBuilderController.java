@@ -24,6 +24,7 @@ import java.net.URL;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Class-controller for machine builder window
@@ -98,7 +99,9 @@ public class MachineBuilderController implements Initializable {
         okButton.setOnAction(e -> {
             StringBuilder message = new StringBuilder();
             if (!machineService.isCompleteMachineStates()) {
-                message.append("Machine states are not complete.\n");
+                message.append("Machine states are not complete: ")
+                        .append(machineService.getIncompleteMachineStates().stream().limit(10).collect(Collectors.joining(", ")))
+                        .append(".\n");
             }
             if (!machineService.isStartStateSet()) {
                 message.append("Start state is not set.\n");